@@ -0,0 +1,413 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.sun.management.ThreadMXBean;
+
+import io.github.astrapi69.test.object.Employee;
+import io.github.astrapi69.test.object.Person;
+import io.github.astrapi69.test.object.enumeration.Gender;
+
+/**
+ * The allocation regression test class for the copy methods of the class
+ * {@link CopyObjectExtensions}. Each test measures the allocated bytes per operation of the
+ * current thread and fails if they exceed the budget of the method in the resource file
+ * {@code allocation-budgets.properties}. If the system property {@code allocation.budgets.record}
+ * is set, the budgets are not checked but recorded from the measured values into the file of the
+ * system property
+ */
+public class CopyObjectExtensionsAllocationTest
+{
+
+	private static final String BUDGETS_RESOURCE = "/allocation-budgets.properties";
+
+	private static final String RECORD_PROPERTY = "allocation.budgets.record";
+
+	private static final long RECORD_MARGIN = 128;
+
+	private static final int WARM_UP_ITERATIONS = 5_000;
+
+	private static final int MEASURED_ITERATIONS = 2_000;
+
+	private static final int ROUNDS = 5;
+
+	private static final int MAPS_SIZE = 10;
+
+	private static final Properties budgets = new Properties();
+
+	private static final Map<String, Long> recordedBudgets = new TreeMap<>();
+
+	private static final List<String> budgetsHeader = new ArrayList<>();
+
+	private static String recordFile;
+
+	private static ThreadMXBean threadMXBean;
+
+	private static volatile Object sink;
+
+	private final Person person = Person.builder().gender(Gender.FEMALE).name("Anna")
+		.nickname("beast").about("Ha ha ha...").married(true).build();
+
+	private final Employee employee = Employee.builder().person(person).id("23").build();
+
+	@BeforeAll
+	public static void setUp() throws IOException
+	{
+		final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		assumeTrue(bean instanceof ThreadMXBean
+			&& ((ThreadMXBean)bean).isThreadAllocatedMemorySupported(),
+			"The measurement of thread allocated bytes is not supported by this jvm");
+		threadMXBean = (ThreadMXBean)bean;
+		threadMXBean.setThreadAllocatedMemoryEnabled(true);
+		try (InputStream inputStream = CopyObjectExtensionsAllocationTest.class
+			.getResourceAsStream(BUDGETS_RESOURCE))
+		{
+			assertTrue(inputStream != null, "The resource " + BUDGETS_RESOURCE + " is missing");
+			final String content = new String(inputStream.readAllBytes(),
+				StandardCharsets.ISO_8859_1);
+			budgets.load(new StringReader(content));
+			content.lines().filter(line -> line.startsWith("#")).forEach(budgetsHeader::add);
+		}
+		recordFile = System.getProperty(RECORD_PROPERTY);
+	}
+
+	/**
+	 * Writes the recorded budgets with the comment header of the resource file to the file of the
+	 * system property {@code allocation.budgets.record}, so the file can replace the resource file
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@AfterAll
+	public static void tearDown() throws IOException
+	{
+		if (recordFile == null)
+		{
+			return;
+		}
+		final Path path = Path.of(recordFile);
+		if (path.getParent() != null)
+		{
+			Files.createDirectories(path.getParent());
+		}
+		try (PrintWriter writer = new PrintWriter(
+			Files.newBufferedWriter(path, StandardCharsets.ISO_8859_1)))
+		{
+			budgetsHeader.forEach(writer::println);
+			recordedBudgets.forEach((name, budget) -> writer.println(name + "=" + budget));
+		}
+		System.out.println("allocation budgets recorded in " + path);
+	}
+
+	/**
+	 * Asserts that the given operation does not allocate more bytes per operation than the budget
+	 * with the given name. The operation is warmed up before it is measured in several rounds and
+	 * the lowest average of a round is compared, so one time allocations of class loading and
+	 * compilation are excluded. In the record mode the measured value plus a margin of 128 bytes
+	 * is recorded as the budget instead
+	 *
+	 * @param name
+	 *            the name of the budget
+	 * @param operation
+	 *            the operation to measure
+	 * @throws Exception
+	 *             is thrown if the operation throws an exception
+	 */
+	private static void assertAllocation(final String name, final Callable<Object> operation)
+		throws Exception
+	{
+		final String budgetValue = budgets.getProperty(name);
+		assertTrue(recordFile != null || budgetValue != null,
+			"No allocation budget for " + name + " in " + BUDGETS_RESOURCE
+				+ ", record the budgets with gradle allocationTest -PrecordAllocationBudgets");
+		for (int i = 0; i < WARM_UP_ITERATIONS; i++)
+		{
+			sink = operation.call();
+		}
+		final long threadId = Thread.currentThread().getId();
+		long bytesPerOperation = Long.MAX_VALUE;
+		for (int round = 0; round < ROUNDS; round++)
+		{
+			final long before = threadMXBean.getThreadAllocatedBytes(threadId);
+			for (int i = 0; i < MEASURED_ITERATIONS; i++)
+			{
+				sink = operation.call();
+			}
+			final long after = threadMXBean.getThreadAllocatedBytes(threadId);
+			bytesPerOperation = Math.min(bytesPerOperation, (after - before) / MEASURED_ITERATIONS);
+		}
+		if (recordFile != null)
+		{
+			recordedBudgets.put(name, bytesPerOperation + RECORD_MARGIN);
+			System.out.printf("allocation %-36s %8d bytes/op (recorded)%n", name,
+				bytesPerOperation);
+			return;
+		}
+		final long budget = Long.parseLong(budgetValue.trim());
+		System.out.printf("allocation %-36s %8d bytes/op (budget %8d bytes/op)%n", name,
+			bytesPerOperation, budget);
+		assertTrue(bytesPerOperation <= budget, name + " allocates " + bytesPerOperation
+			+ " bytes per operation and exceeds the budget of " + budget + " bytes");
+	}
+
+	/**
+	 * Test method for {@link CopyObjectExtensions#copyObject(Object, String...)}
+	 */
+	@Test
+	public void testCopyObject() throws Exception
+	{
+		assertAllocation("copyObject", () -> CopyObjectExtensions.copyObject(person));
+	}
+
+	/**
+	 * Test method for {@link CopyObjectExtensions#copyObject(Object, Object, String...)}
+	 */
+	@Test
+	public void testCopyObjectToDestination() throws Exception
+	{
+		final Person destination = new Person();
+		assertAllocation("copyObjectToDestination",
+			() -> CopyObjectExtensions.copyObject(person, destination));
+	}
+
+	/**
+	 * Test method for {@link CopyObjectExtensions#deepCopyObject(Object)}
+	 */
+	@Test
+	public void testDeepCopyObject() throws Exception
+	{
+		assertAllocation("deepCopyObject", () -> CopyObjectExtensions.deepCopyObject(employee));
+	}
+
+	/**
+	 * Test method for {@link CopyObjectExtensions#deepCopyObject(Object, CopyOptions)}
+	 */
+	@Test
+	public void testDeepCopyObjectWithOptions() throws Exception
+	{
+		final CopyOptions options = CopyOptions.builder().maxObjects(1_000).build();
+		assertAllocation("deepCopyObjectWithOptions",
+			() -> CopyObjectExtensions.deepCopyObject(employee, options));
+	}
+
+	/**
+	 * Test method for {@link CopyObjectExtensions#copySnapshot(Object, SnapshotGuard)}
+	 */
+	@Test
+	public void testCopySnapshot() throws Exception
+	{
+		final StampedLock lock = new StampedLock();
+		final SnapshotGuard<Person> guard = SnapshotGuard.stampedLock(object -> lock);
+		assertAllocation("copySnapshot", () -> CopyObjectExtensions.copySnapshot(person, guard));
+	}
+
+	/**
+	 * Test method for {@link CopyObjectExtensions#adaptiveCopy(Object)}
+	 */
+	@Test
+	public void testAdaptiveCopy() throws Exception
+	{
+		assertAllocation("adaptiveCopy", () -> CopyObjectExtensions.adaptiveCopy(person));
+	}
+
+	/**
+	 * Test method for {@link CopyObjectExtensions#copyPropertiesWithReflection(Object, String...)}
+	 */
+	@Test
+	public void testCopyPropertiesWithReflection() throws Exception
+	{
+		assertAllocation("copyPropertiesWithReflection",
+			() -> CopyObjectExtensions.copyPropertiesWithReflection(person));
+	}
+
+	/**
+	 * Test method for
+	 * {@link CopyObjectExtensions#copyPropertyWithReflection(Object, Object, String)}
+	 */
+	@Test
+	public void testCopyPropertyWithReflection() throws Exception
+	{
+		final Person destination = new Person();
+		assertAllocation("copyPropertyWithReflection",
+			() -> CopyObjectExtensions.copyPropertyWithReflection(person, destination, "name"));
+	}
+
+	/**
+	 * Test method for {@link CopyObjectExtensions#copy(Object, Object, String...)}
+	 */
+	@Test
+	public void testCopy() throws Exception
+	{
+		final Person target = new Person();
+		assertAllocation("copy", () -> CopyObjectExtensions.copy(person, target));
+	}
+
+	/**
+	 * Test method for {@link CopyObjectExtensions#copyToMap(Object, String...)}
+	 */
+	@Test
+	public void testCopyToMap() throws Exception
+	{
+		assertAllocation("copyToMap", () -> CopyObjectExtensions.copyToMap(person, "class"));
+	}
+
+	/**
+	 * Test method for {@link CopyObjectExtensions#copyMapToObject(Map, Class)}
+	 */
+	@Test
+	public void testCopyMapToObject() throws Exception
+	{
+		final Map<String, Object> map = CopyObjectExtensions.copyToMap(person, "class");
+		assertAllocation("copyMapToObject",
+			() -> CopyObjectExtensions.copyMapToObject(map, Person.class));
+	}
+
+	/**
+	 * Test method for {@link CopyObjectExtensions#copyMapsToObjects(List, Class)}
+	 */
+	@Test
+	public void testCopyMapsToObjects() throws Exception
+	{
+		final List<Map<String, Object>> maps = new ArrayList<>();
+		for (int i = 0; i < MAPS_SIZE; i++)
+		{
+			maps.add(CopyObjectExtensions.copyToMap(person, "class"));
+		}
+		assertAllocation("copyMapsToObjects",
+			() -> CopyObjectExtensions.copyMapsToObjects(maps, Person.class));
+	}
+
+	/**
+	 * Test method for
+	 * {@link CopyObjectExtensions#copyMapsToObjects(java.util.stream.Stream, Class)}
+	 */
+	@Test
+	public void testCopyMapsToObjectsFromStream() throws Exception
+	{
+		final List<Map<String, Object>> maps = new ArrayList<>();
+		for (int i = 0; i < MAPS_SIZE; i++)
+		{
+			maps.add(CopyObjectExtensions.copyToMap(person, "class"));
+		}
+		assertAllocation("copyMapsToObjectsFromStream", () -> CopyObjectExtensions
+			.copyMapsToObjects(maps.stream(), Person.class).collect(Collectors.toList()));
+	}
+
+	/**
+	 * Test method for
+	 * {@link CopyObjectExtensions#copyObjectToMapBase64EncodedString(Object, String...)}
+	 */
+	@Test
+	public void testCopyObjectToMapBase64EncodedString() throws Exception
+	{
+		assertAllocation("copyObjectToMapBase64EncodedString",
+			() -> CopyObjectExtensions.copyObjectToMapBase64EncodedString(person, "class"));
+	}
+
+	/**
+	 * Test method for
+	 * {@link CopyObjectExtensions#copyBase64EncodedStringMapToObject(String, Class)}
+	 */
+	@Test
+	public void testCopyBase64EncodedStringMapToObject() throws Exception
+	{
+		final String base64EncodedStringMap = CopyObjectExtensions
+			.copyObjectToMapBase64EncodedString(person, "class");
+		assertAllocation("copyBase64EncodedStringMapToObject", () -> CopyObjectExtensions
+			.copyBase64EncodedStringMapToObject(base64EncodedStringMap, Person.class));
+	}
+
+	/**
+	 * Test method for {@link CopyObjectExtensions#copySerializedObject(java.io.Serializable)}
+	 */
+	@Test
+	public void testCopySerializedObject() throws Exception
+	{
+		assertAllocation("copySerializedObject",
+			() -> CopyObjectExtensions.copySerializedObject(employee));
+	}
+
+	/**
+	 * Test method for
+	 * {@link CopyObjectExtensions#copySerializedObject(java.io.Serializable, CopyOptions)}
+	 */
+	@Test
+	public void testCopySerializedObjectWithOptions() throws Exception
+	{
+		final CopyOptions options = CopyOptions.builder().maxObjects(1_000).build();
+		assertAllocation("copySerializedObjectWithOptions",
+			() -> CopyObjectExtensions.copySerializedObject(employee, options));
+	}
+
+	/**
+	 * Test method for {@link CopyObjectExtensions#toByteArray(java.io.Serializable)}
+	 */
+	@Test
+	public void testToByteArray() throws Exception
+	{
+		assertAllocation("toByteArray", () -> CopyObjectExtensions.toByteArray(employee));
+	}
+
+	/**
+	 * Test method for {@link CopyObjectExtensions#toByteArray(java.io.Serializable, CopyOptions)}
+	 */
+	@Test
+	public void testToByteArrayWithOptions() throws Exception
+	{
+		final CopyOptions options = CopyOptions.builder().maxObjects(1_000).build();
+		assertAllocation("toByteArrayWithOptions",
+			() -> CopyObjectExtensions.toByteArray(employee, options));
+	}
+
+	/**
+	 * Test method for {@link CopyObjectExtensions#estimateDeepSize(Object)}
+	 */
+	@Test
+	public void testEstimateDeepSize() throws Exception
+	{
+		assertAllocation("estimateDeepSize", () -> CopyObjectExtensions.estimateDeepSize(employee));
+	}
+
+}
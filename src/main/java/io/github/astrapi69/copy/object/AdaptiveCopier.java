@@ -0,0 +1,354 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.NonNull;
+
+/**
+ * The class {@link AdaptiveCopier} selects the fastest {@link CopyStrategy} of the candidate
+ * strategies for each class. The first copies of a class are profiled with every applicable
+ * candidate strategy and each profiled copy is verified with the equals method of the class if the
+ * class defines one. A strategy that fails or creates a copy that is not equal to the original is
+ * not used again for this class. After the given number of samples of each strategy the fastest
+ * strategy is used without verification for all following copies of the class, until the
+ * profiling starts again after the given reevaluation interval.<br>
+ * <br>
+ * The default candidates are the deep strategies, so the depth of a copy does not depend on the
+ * strategy that is chosen for its class. The equals method can not tell a shallow from a deep
+ * copy, so candidates with different depths should only be combined deliberately.
+ */
+public class AdaptiveCopier
+{
+
+	/** The default number of profiled copies of each strategy */
+	public static final int DEFAULT_SAMPLES_PER_STRATEGY = 10;
+
+	/** The default number of copies with the chosen strategy before the profiling starts again */
+	public static final long DEFAULT_REEVALUATION_INTERVAL = 100_000L;
+
+	/** The default candidate strategies, these are all strategies that create deep copies */
+	public static final Set<CopyStrategy> DEFAULT_STRATEGIES = Collections
+		.unmodifiableSet(EnumSet.of(CopyStrategy.DEEP, CopyStrategy.MAP, CopyStrategy.SERIALIZED));
+
+	private static final AdaptiveCopier DEFAULT = new AdaptiveCopier();
+
+	private final Set<CopyStrategy> strategies;
+	private final int samplesPerStrategy;
+	private final long reevaluationInterval;
+	private final Map<Class<?>, ClassProfile> profiles = new ConcurrentHashMap<>();
+
+	/**
+	 * Instantiates a new {@link AdaptiveCopier} with the default candidate strategies, the default
+	 * number of samples and the default reevaluation interval
+	 */
+	public AdaptiveCopier()
+	{
+		this(DEFAULT_SAMPLES_PER_STRATEGY, DEFAULT_REEVALUATION_INTERVAL);
+	}
+
+	/**
+	 * Instantiates a new {@link AdaptiveCopier} with the default candidate strategies
+	 *
+	 * @param samplesPerStrategy
+	 *            the number of profiled copies of each strategy
+	 * @param reevaluationInterval
+	 *            the number of copies with the chosen strategy before the profiling starts again
+	 */
+	public AdaptiveCopier(final int samplesPerStrategy, final long reevaluationInterval)
+	{
+		this(DEFAULT_STRATEGIES, samplesPerStrategy, reevaluationInterval);
+	}
+
+	/**
+	 * Instantiates a new {@link AdaptiveCopier}
+	 *
+	 * @param strategies
+	 *            the candidate strategies
+	 * @param samplesPerStrategy
+	 *            the number of profiled copies of each strategy
+	 * @param reevaluationInterval
+	 *            the number of copies with the chosen strategy before the profiling starts again
+	 */
+	public AdaptiveCopier(final @NonNull Set<CopyStrategy> strategies,
+		final int samplesPerStrategy, final long reevaluationInterval)
+	{
+		if (strategies.isEmpty())
+		{
+			throw new IllegalArgumentException("strategies must not be empty");
+		}
+		if (samplesPerStrategy <= 0 || reevaluationInterval <= 0)
+		{
+			throw new IllegalArgumentException(
+				"samplesPerStrategy and reevaluationInterval must be positive");
+		}
+		this.strategies = Collections.unmodifiableSet(EnumSet.copyOf(strategies));
+		this.samplesPerStrategy = samplesPerStrategy;
+		this.reevaluationInterval = reevaluationInterval;
+	}
+
+	/**
+	 * Gets the shared {@link AdaptiveCopier} that is used from
+	 * {@link CopyObjectExtensions#adaptiveCopy(Object)}
+	 *
+	 * @return the shared {@link AdaptiveCopier}
+	 */
+	public static AdaptiveCopier getDefault()
+	{
+		return DEFAULT;
+	}
+
+	/**
+	 * Gets the candidate strategies
+	 *
+	 * @return the unmodifiable set of the candidate strategies
+	 */
+	public Set<CopyStrategy> getStrategies()
+	{
+		return strategies;
+	}
+
+	/**
+	 * Copy the given original object with the fastest candidate strategy for its class
+	 *
+	 * @param <T>
+	 *            the generic type of the given object
+	 * @param original
+	 *            the original object
+	 * @return a copy of the given original object
+	 * @throws IllegalStateException
+	 *             is thrown if no strategy can copy the given object
+	 */
+	public <T> T copy(final @NonNull T original)
+	{
+		final ClassProfile profile = profiles.computeIfAbsent(original.getClass(),
+			ClassProfile::new);
+		Throwable lastFailure = null;
+		CopyStrategy strategy;
+		while ((strategy = profile.nextStrategy()) != null)
+		{
+			final boolean profiling = profile.chosen == null;
+			final long start = System.nanoTime();
+			try
+			{
+				final T copy = strategy.copy(original);
+				final long durationNanos = System.nanoTime() - start;
+				if (profiling && profile.equalsDefined && !original.equals(copy))
+				{
+					profile.disqualify(strategy);
+					continue;
+				}
+				if (profiling)
+				{
+					profile.addSample(strategy, durationNanos);
+				}
+				return copy;
+			}
+			catch (Exception | StackOverflowError e)
+			{
+				lastFailure = e;
+				profile.disqualify(strategy);
+			}
+		}
+		throw new IllegalStateException(
+			"No copy strategy could copy the class " + original.getClass().getName(), lastFailure);
+	}
+
+	/**
+	 * Gets the chosen strategy of the given class
+	 *
+	 * @param type
+	 *            the class
+	 * @return the chosen strategy or null if the class is not profiled yet
+	 */
+	public CopyStrategy getChosenStrategy(final @NonNull Class<?> type)
+	{
+		final ClassProfile profile = profiles.get(type);
+		return profile == null ? null : profile.chosen;
+	}
+
+	/**
+	 * Gets the chosen strategies of all profiled classes
+	 *
+	 * @return a map with the chosen strategy for each profiled class
+	 */
+	public Map<Class<?>, CopyStrategy> getChosenStrategies()
+	{
+		final Map<Class<?>, CopyStrategy> chosenStrategies = new HashMap<>();
+		profiles.forEach((type, profile) -> {
+			if (profile.chosen != null)
+			{
+				chosenStrategies.put(type, profile.chosen);
+			}
+		});
+		return chosenStrategies;
+	}
+
+	/**
+	 * Removes all profiles, so every class will be profiled again
+	 */
+	public void reset()
+	{
+		profiles.clear();
+	}
+
+	/**
+	 * The class {@link ClassProfile} holds the samples and the chosen strategy of one class
+	 */
+	private final class ClassProfile
+	{
+
+		private final boolean equalsDefined;
+		private final boolean[] applicable = new boolean[CopyStrategy.values().length];
+		private final int[] samples = new int[applicable.length];
+		private final long[] totalNanos = new long[applicable.length];
+		private final AtomicLong copiesWithChosen = new AtomicLong();
+		private volatile CopyStrategy chosen;
+
+		private ClassProfile(final Class<?> type)
+		{
+			this.equalsDefined = isEqualsDefined(type);
+			for (CopyStrategy strategy : CopyStrategy.values())
+			{
+				applicable[strategy.ordinal()] = strategies.contains(strategy)
+					&& strategy.isApplicable(type);
+			}
+		}
+
+		private CopyStrategy nextStrategy()
+		{
+			final CopyStrategy current = chosen;
+			if (current != null)
+			{
+				if (copiesWithChosen.incrementAndGet() <= reevaluationInterval)
+				{
+					return current;
+				}
+				restartProfiling();
+			}
+			return nextProfiledStrategy();
+		}
+
+		private synchronized void restartProfiling()
+		{
+			if (chosen != null && reevaluationInterval < copiesWithChosen.get())
+			{
+				Arrays.fill(samples, 0);
+				Arrays.fill(totalNanos, 0);
+				chosen = null;
+			}
+		}
+
+		private synchronized CopyStrategy nextProfiledStrategy()
+		{
+			if (chosen != null)
+			{
+				return chosen;
+			}
+			CopyStrategy next = null;
+			for (CopyStrategy strategy : CopyStrategy.values())
+			{
+				final int index = strategy.ordinal();
+				if (applicable[index] && samples[index] < samplesPerStrategy
+					&& (next == null || samples[index] < samples[next.ordinal()]))
+				{
+					next = strategy;
+				}
+			}
+			if (next == null)
+			{
+				next = choose();
+			}
+			return next;
+		}
+
+		private CopyStrategy choose()
+		{
+			CopyStrategy fastest = null;
+			double fastestMean = Double.MAX_VALUE;
+			for (CopyStrategy strategy : CopyStrategy.values())
+			{
+				final int index = strategy.ordinal();
+				final int measured = samplesPerStrategy == 1 ? samples[index] : samples[index] - 1;
+				if (applicable[index] && 0 < measured)
+				{
+					final double mean = (double)totalNanos[index] / measured;
+					if (mean < fastestMean)
+					{
+						fastestMean = mean;
+						fastest = strategy;
+					}
+				}
+			}
+			if (fastest != null)
+			{
+				copiesWithChosen.set(0);
+				chosen = fastest;
+			}
+			return fastest;
+		}
+
+		private synchronized void addSample(final CopyStrategy strategy, final long durationNanos)
+		{
+			final int index = strategy.ordinal();
+			if (chosen == null && applicable[index] && samples[index] < samplesPerStrategy)
+			{
+				// the first copy of a strategy includes the warm up and is not measured
+				if (0 < samples[index] || samplesPerStrategy == 1)
+				{
+					totalNanos[index] += durationNanos;
+				}
+				samples[index]++;
+			}
+		}
+
+		private synchronized void disqualify(final CopyStrategy strategy)
+		{
+			applicable[strategy.ordinal()] = false;
+			if (chosen == strategy)
+			{
+				chosen = null;
+			}
+		}
+
+	}
+
+	private static boolean isEqualsDefined(final Class<?> type)
+	{
+		try
+		{
+			return type.getMethod("equals", Object.class).getDeclaringClass() != Object.class;
+		}
+		catch (NoSuchMethodException e)
+		{
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,318 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * The class {@link ContainerCopier} copies arrays and the common JDK collections and maps with type
+ * specific strategies instead of reflection over their internal fields. A shallow copy uses
+ * {@link Arrays#copyOf(Object[], int, Class)}, {@link System#arraycopy(Object, int, Object, int, int)}
+ * , the copy constructors or {@code clone()}. An element deep copy creates an empty container
+ * with the capacity of the original and fills it with the copies of the elements
+ */
+@UtilityClass
+final class ContainerCopier
+{
+
+	/** The collection and map classes that are supported, subclasses are not supported */
+	private static final Set<Class<?>> CONTAINER_TYPES = Set.of(ArrayList.class,
+		LinkedList.class, ArrayDeque.class, HashSet.class, LinkedHashSet.class, TreeSet.class,
+		HashMap.class, LinkedHashMap.class, TreeMap.class, EnumMap.class,
+		ConcurrentHashMap.class);
+
+	/**
+	 * The functional interface {@link ElementCopier} copies one element of a container
+	 */
+	@FunctionalInterface
+	interface ElementCopier
+	{
+
+		/**
+		 * Copy the given element
+		 *
+		 * @param element
+		 *            the element
+		 * @return the copy of the element
+		 * @throws IllegalAccessException
+		 *             if the caller does not have access to a field of the element
+		 */
+		Object copy(Object element) throws IllegalAccessException;
+
+	}
+
+	/**
+	 * Checks if the given class is supported
+	 *
+	 * @param type
+	 *            the class
+	 * @return true if the given class is an array or a supported collection or map otherwise false
+	 */
+	static boolean supports(final Class<?> type)
+	{
+		return type.isArray() || CONTAINER_TYPES.contains(type)
+			|| EnumSet.class.isAssignableFrom(type);
+	}
+
+	/**
+	 * Checks if the given container class places its elements by their hash code or their order,
+	 * so an element has to be copied completely before it is added to a copy
+	 *
+	 * @param type
+	 *            the class of a supported container
+	 * @return true if the given class is a hash or tree based collection or map otherwise false
+	 */
+	static boolean placesElements(final Class<?> type)
+	{
+		return type == HashSet.class || type == LinkedHashSet.class || type == TreeSet.class
+			|| type == HashMap.class || type == LinkedHashMap.class || type == TreeMap.class
+			|| type == ConcurrentHashMap.class;
+	}
+
+	/**
+	 * Creates a shallow copy of the given container, the elements are shared with the original
+	 *
+	 * @param <T>
+	 *            the generic type of the container
+	 * @param original
+	 *            the original container, its class has to be supported
+	 * @return the shallow copy
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static <T> T copyShallow(final T original)
+	{
+		final Class<?> type = original.getClass();
+		if (type.isArray())
+		{
+			final int length = Array.getLength(original);
+			if (type.getComponentType().isPrimitive())
+			{
+				final Object copy = Array.newInstance(type.getComponentType(), length);
+				System.arraycopy(original, 0, copy, 0, length);
+				return (T)copy;
+			}
+			return (T)Arrays.copyOf((Object[])original, length, (Class<Object[]>)type);
+		}
+		if (original instanceof EnumSet)
+		{
+			return (T)((EnumSet)original).clone();
+		}
+		if (type == ArrayList.class)
+		{
+			return (T)new ArrayList<>((Collection<?>)original);
+		}
+		if (type == LinkedList.class)
+		{
+			return (T)new LinkedList<>((Collection<?>)original);
+		}
+		if (type == ArrayDeque.class)
+		{
+			return (T)((ArrayDeque)original).clone();
+		}
+		if (type == HashSet.class || type == LinkedHashSet.class)
+		{
+			return (T)((HashSet)original).clone();
+		}
+		if (type == TreeSet.class)
+		{
+			return (T)((TreeSet)original).clone();
+		}
+		if (type == HashMap.class || type == LinkedHashMap.class)
+		{
+			return (T)((HashMap)original).clone();
+		}
+		if (type == TreeMap.class)
+		{
+			return (T)((TreeMap)original).clone();
+		}
+		if (type == EnumMap.class)
+		{
+			return (T)((EnumMap)original).clone();
+		}
+		if (type == ConcurrentHashMap.class)
+		{
+			return (T)new ConcurrentHashMap<>((Map<?, ?>)original);
+		}
+		throw new IllegalArgumentException("The class " + type.getName() + " is not supported");
+	}
+
+	/**
+	 * Creates an empty container with the class and the capacity of the given container. An
+	 * {@link EnumSet} is copied completely, because its elements are enum constants
+	 *
+	 * @param <T>
+	 *            the generic type of the container
+	 * @param original
+	 *            the original container, its class has to be supported
+	 * @return the empty container
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static <T> T newEmpty(final T original)
+	{
+		final Class<?> type = original.getClass();
+		if (type.isArray())
+		{
+			return (T)Array.newInstance(type.getComponentType(), Array.getLength(original));
+		}
+		if (original instanceof EnumSet)
+		{
+			return (T)((EnumSet)original).clone();
+		}
+		if (original instanceof Collection)
+		{
+			final int size = ((Collection<?>)original).size();
+			if (type == ArrayList.class)
+			{
+				return (T)new ArrayList<>(size);
+			}
+			if (type == LinkedList.class)
+			{
+				return (T)new LinkedList<>();
+			}
+			if (type == ArrayDeque.class)
+			{
+				return (T)new ArrayDeque<>(size);
+			}
+			if (type == HashSet.class)
+			{
+				return (T)new HashSet<>(capacity(size));
+			}
+			if (type == LinkedHashSet.class)
+			{
+				return (T)new LinkedHashSet<>(capacity(size));
+			}
+			if (type == TreeSet.class)
+			{
+				return (T)new TreeSet<>(((TreeSet)original).comparator());
+			}
+		}
+		else
+		{
+			final int size = ((Map<?, ?>)original).size();
+			if (type == HashMap.class)
+			{
+				return (T)new HashMap<>(capacity(size));
+			}
+			if (type == LinkedHashMap.class)
+			{
+				// clone keeps the access order, clear keeps the capacity of the table
+				final LinkedHashMap<?, ?> copy = (LinkedHashMap<?, ?>)((LinkedHashMap)original)
+					.clone();
+				copy.clear();
+				return (T)copy;
+			}
+			if (type == TreeMap.class)
+			{
+				return (T)new TreeMap<>(((TreeMap)original).comparator());
+			}
+			if (type == EnumMap.class)
+			{
+				final EnumMap<?, ?> copy = ((EnumMap)original).clone();
+				copy.clear();
+				return (T)copy;
+			}
+			if (type == ConcurrentHashMap.class)
+			{
+				return (T)new ConcurrentHashMap<>(capacity(size));
+			}
+		}
+		throw new IllegalArgumentException("The class " + type.getName() + " is not supported");
+	}
+
+	/**
+	 * Fills the given empty container from {@link #newEmpty(Object)} with the copies of the
+	 * elements of the given original container
+	 *
+	 * @param original
+	 *            the original container
+	 * @param copy
+	 *            the empty container
+	 * @param elementCopier
+	 *            the copier for the elements, for a map it copies the keys and the values
+	 * @throws IllegalAccessException
+	 *             if the caller does not have access to a field of an element
+	 */
+	@SuppressWarnings("unchecked")
+	static void fill(final Object original, final Object copy, final ElementCopier elementCopier)
+		throws IllegalAccessException
+	{
+		final Class<?> type = original.getClass();
+		if (type.isArray())
+		{
+			if (type.getComponentType().isPrimitive())
+			{
+				System.arraycopy(original, 0, copy, 0, Array.getLength(original));
+				return;
+			}
+			final Object[] originalArray = (Object[])original;
+			final Object[] copyArray = (Object[])copy;
+			for (int i = 0; i < originalArray.length; i++)
+			{
+				copyArray[i] = elementCopier.copy(originalArray[i]);
+			}
+		}
+		else if (original instanceof EnumSet)
+		{
+			// the enum constants are already in the copy
+		}
+		else if (original instanceof Collection)
+		{
+			final Collection<Object> copyCollection = (Collection<Object>)copy;
+			for (Object element : (Collection<?>)original)
+			{
+				copyCollection.add(elementCopier.copy(element));
+			}
+		}
+		else
+		{
+			final Map<Object, Object> copyMap = (Map<Object, Object>)copy;
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>)original).entrySet())
+			{
+				copyMap.put(elementCopier.copy(entry.getKey()),
+					elementCopier.copy(entry.getValue()));
+			}
+		}
+	}
+
+	private static int capacity(final int size)
+	{
+		return Math.max((int)(size / 0.75f) + 1, 16);
+	}
+
+}
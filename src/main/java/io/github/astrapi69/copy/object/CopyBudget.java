@@ -0,0 +1,105 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+/**
+ * The class {@link CopyBudget} counts the bytes and the objects of one copy and throws a
+ * {@link CopyLimitExceededException} as soon as a limit of the {@link CopyOptions} is exceeded.
+ * Instances are not thread safe and are used for one copy only
+ */
+final class CopyBudget
+{
+
+	private final long maxBytes;
+	private final long maxObjects;
+	private long bytes;
+	private long objects;
+
+	/**
+	 * Instantiates a new {@link CopyBudget} with the limits of the given options
+	 *
+	 * @param options
+	 *            the copy options
+	 */
+	CopyBudget(final CopyOptions options)
+	{
+		this.maxBytes = options.getMaxBytes();
+		this.maxObjects = options.getMaxObjects();
+	}
+
+	/**
+	 * Checks if this budget has a limit
+	 *
+	 * @return true if the bytes or the objects are limited otherwise false
+	 */
+	boolean isLimited()
+	{
+		return maxBytes != Long.MAX_VALUE || maxObjects != Long.MAX_VALUE;
+	}
+
+	/**
+	 * Checks if the objects of this budget are limited
+	 *
+	 * @return true if the objects are limited otherwise false
+	 */
+	boolean isObjectsLimited()
+	{
+		return maxObjects != Long.MAX_VALUE;
+	}
+
+	/**
+	 * Adds the given number of bytes to this budget
+	 *
+	 * @param count
+	 *            the number of bytes
+	 * @throws CopyLimitExceededException
+	 *             is thrown if the maximum number of bytes is exceeded
+	 */
+	void addBytes(final long count)
+	{
+		bytes += count;
+		if (maxBytes < bytes)
+		{
+			throw new CopyLimitExceededException(
+				"The copy exceeds the maximum number of " + maxBytes + " bytes", maxBytes);
+		}
+	}
+
+	/**
+	 * Adds one object with the given size to this budget
+	 *
+	 * @param size
+	 *            the size of the object in bytes
+	 * @throws CopyLimitExceededException
+	 *             is thrown if the maximum number of objects or bytes is exceeded
+	 */
+	void addObject(final long size)
+	{
+		objects++;
+		if (maxObjects < objects)
+		{
+			throw new CopyLimitExceededException(
+				"The copy exceeds the maximum number of " + maxObjects + " objects", maxObjects);
+		}
+		addBytes(size);
+	}
+
+}
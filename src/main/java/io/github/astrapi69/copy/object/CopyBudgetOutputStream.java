@@ -0,0 +1,64 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The class {@link CopyBudgetOutputStream} adds every written byte to a {@link CopyBudget} before
+ * it is written to the underlying output stream
+ */
+final class CopyBudgetOutputStream extends FilterOutputStream
+{
+
+	private final CopyBudget budget;
+
+	/**
+	 * Instantiates a new {@link CopyBudgetOutputStream}
+	 *
+	 * @param out
+	 *            the underlying output stream
+	 * @param budget
+	 *            the budget of the copy
+	 */
+	CopyBudgetOutputStream(final OutputStream out, final CopyBudget budget)
+	{
+		super(out);
+		this.budget = budget;
+	}
+
+	@Override
+	public void write(final int b) throws IOException
+	{
+		budget.addBytes(1);
+		out.write(b);
+	}
+
+	@Override
+	public void write(final byte[] b, final int off, final int len) throws IOException
+	{
+		budget.addBytes(len);
+		out.write(b, off, len);
+	}
+
+}
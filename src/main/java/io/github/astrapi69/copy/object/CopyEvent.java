@@ -0,0 +1,61 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The class {@link CopyEvent} is the flight recorder event that is committed for each call of a
+ * public copy method of the class {@link CopyObjectExtensions}
+ */
+@Name("io.github.astrapi69.copy.Copy")
+@Label("Copy")
+@Category({ "Java Application", "Copy" })
+@Description("Copy of an object with the class CopyObjectExtensions")
+public final class CopyEvent extends jdk.jfr.Event
+{
+
+	/** The name of the class of the copied object */
+	@Label("Class")
+	String type;
+
+	/** The name of the copy method */
+	@Label("Strategy")
+	String strategy;
+
+	/** The number of copied fields or properties */
+	@Label("Field Count")
+	int fieldCount;
+
+	/** The number of serialized bytes */
+	@Label("Bytes Serialized")
+	@DataAmount
+	long bytes;
+
+	/** The name of the class of the exception if the copy failed */
+	@Label("Failure")
+	String failure;
+
+}
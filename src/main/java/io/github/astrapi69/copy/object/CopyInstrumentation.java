@@ -0,0 +1,217 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.ServiceLoader;
+
+import jdk.jfr.EventType;
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+
+/**
+ * The class {@link CopyInstrumentation} controls the optional instrumentation of the public copy
+ * methods of the class {@link CopyObjectExtensions}. A copy is recorded as {@link CopyEvent} if a
+ * flight recording with this event is running and with the registered {@link CopyMetrics}. If
+ * both are disabled a copy method only checks two flags. The module {@code jdk.jfr} is optional,
+ * the class {@link CopyEvent} is only loaded if the module is present in the runtime
+ */
+@UtilityClass
+public final class CopyInstrumentation
+{
+
+	/** The flag if the module jdk.jfr is present and readable */
+	private static final boolean FLIGHT_RECORDER_AVAILABLE = isFlightRecorderAvailable();
+
+	private static volatile CopyMetrics metrics = loadMetrics();
+
+	private static boolean isFlightRecorderAvailable()
+	{
+		final Optional<Module> flightRecorder = ModuleLayer.boot().findModule("jdk.jfr");
+		if (flightRecorder.isEmpty())
+		{
+			return false;
+		}
+		CopyInstrumentation.class.getModule().addReads(flightRecorder.get());
+		return true;
+	}
+
+	private static boolean isEventEnabled()
+	{
+		return FLIGHT_RECORDER_AVAILABLE && CopyEventType.COPY_EVENT_TYPE.isEnabled();
+	}
+
+	private static CopyMetrics loadMetrics()
+	{
+		final Iterator<CopyMetrics> providers = ServiceLoader.load(CopyMetrics.class).iterator();
+		return providers.hasNext() ? providers.next() : CopyMetrics.NOOP;
+	}
+
+	/**
+	 * Gets the registered metrics
+	 *
+	 * @return the registered metrics or {@link CopyMetrics#NOOP} if no metrics is registered
+	 */
+	public static CopyMetrics getMetrics()
+	{
+		return metrics;
+	}
+
+	/**
+	 * Registers the given metrics, this replaces the metrics that is loaded from the service
+	 * providers of {@link CopyMetrics}
+	 *
+	 * @param metrics
+	 *            the metrics or {@link CopyMetrics#NOOP} for disable the metrics
+	 */
+	public static void setMetrics(final @NonNull CopyMetrics metrics)
+	{
+		CopyInstrumentation.metrics = metrics;
+	}
+
+	/**
+	 * Checks if a copy will be recorded
+	 *
+	 * @return true if the metrics or the {@link CopyEvent} are enabled otherwise false
+	 */
+	public static boolean isEnabled()
+	{
+		return metrics != CopyMetrics.NOOP || isEventEnabled();
+	}
+
+	/**
+	 * Begins the record of a copy
+	 *
+	 * @return the probe that has to be ended after the copy
+	 */
+	static CopyProbe begin()
+	{
+		final CopyMetrics current = metrics;
+		final boolean eventEnabled = isEventEnabled();
+		if (current == CopyMetrics.NOOP && !eventEnabled)
+		{
+			return CopyProbe.DISABLED;
+		}
+		return new CopyProbe(current, eventEnabled ? new CopyEvent() : null);
+	}
+
+	/**
+	 * The class {@link CopyEventType} holds the event type of the {@link CopyEvent}, it is only
+	 * initialized if the module jdk.jfr is present
+	 */
+	private static final class CopyEventType
+	{
+
+		private static final EventType COPY_EVENT_TYPE = EventType.getEventType(CopyEvent.class);
+
+	}
+
+	/**
+	 * The class {@link CopyProbe} measures one copy from the call of
+	 * {@link CopyInstrumentation#begin()} until the call of {@link #end(Class, String, int, long)}
+	 * or {@link #fail(Class, String, Throwable)}. A probe records only once
+	 */
+	static final class CopyProbe
+	{
+
+		/** The probe that is returned if the instrumentation is disabled */
+		static final CopyProbe DISABLED = new CopyProbe(CopyMetrics.NOOP, null);
+
+		private final CopyMetrics metrics;
+		private final CopyEvent event;
+		private final long start;
+		private boolean ended;
+
+		private CopyProbe(final CopyMetrics metrics, final CopyEvent event)
+		{
+			this.metrics = metrics;
+			this.event = event;
+			if (event != null)
+			{
+				event.begin();
+			}
+			this.start = System.nanoTime();
+		}
+
+		/**
+		 * Ends the record of the copy
+		 *
+		 * @param type
+		 *            the class of the copied object
+		 * @param strategy
+		 *            the name of the copy method
+		 * @param fieldCount
+		 *            the number of copied fields or properties or 0 if unknown
+		 * @param bytes
+		 *            the number of serialized bytes or 0 if nothing was serialized
+		 */
+		void end(final Class<?> type, final String strategy, final int fieldCount,
+			final long bytes)
+		{
+			if (this == DISABLED || ended)
+			{
+				return;
+			}
+			ended = true;
+			final long durationNanos = System.nanoTime() - start;
+			if (event != null)
+			{
+				event.type = type.getName();
+				event.strategy = strategy;
+				event.fieldCount = fieldCount;
+				event.bytes = bytes;
+				event.commit();
+			}
+			metrics.record(type, strategy, fieldCount, bytes, durationNanos);
+		}
+
+		/**
+		 * Ends the record of a copy that failed with the given exception
+		 *
+		 * @param type
+		 *            the class of the original object
+		 * @param strategy
+		 *            the name of the copy method
+		 * @param failure
+		 *            the exception that is thrown from the copy method
+		 */
+		void fail(final Class<?> type, final String strategy, final Throwable failure)
+		{
+			if (this == DISABLED || ended)
+			{
+				return;
+			}
+			ended = true;
+			final long durationNanos = System.nanoTime() - start;
+			if (event != null)
+			{
+				event.type = type.getName();
+				event.strategy = strategy;
+				event.failure = failure.getClass().getName();
+				event.commit();
+			}
+			metrics.recordFailure(type, strategy, failure, durationNanos);
+		}
+
+	}
+
+}
@@ -0,0 +1,58 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+/**
+ * The class {@link CopyLimitExceededException} is thrown if a copy exceeds the maximum number of
+ * bytes or objects of its {@link CopyOptions}
+ */
+public class CopyLimitExceededException extends RuntimeException
+{
+
+	private static final long serialVersionUID = 1L;
+
+	private final long limit;
+
+	/**
+	 * Instantiates a new {@link CopyLimitExceededException}
+	 *
+	 * @param message
+	 *            the message
+	 * @param limit
+	 *            the limit that was exceeded
+	 */
+	public CopyLimitExceededException(final String message, final long limit)
+	{
+		super(message);
+		this.limit = limit;
+	}
+
+	/**
+	 * Gets the limit that was exceeded
+	 *
+	 * @return the limit that was exceeded
+	 */
+	public long getLimit()
+	{
+		return limit;
+	}
+
+}
@@ -0,0 +1,70 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+/**
+ * The interface {@link CopyMetrics} is the service provider interface for record the metrics of
+ * the copy methods of the class {@link CopyObjectExtensions}. An implementation can be registered
+ * with {@link CopyInstrumentation#setMetrics(CopyMetrics)} or as a service provider of this
+ * interface
+ */
+@FunctionalInterface
+public interface CopyMetrics
+{
+
+	/** The metrics that records nothing */
+	CopyMetrics NOOP = (type, strategy, fieldCount, bytes, durationNanos) -> {
+	};
+
+	/**
+	 * Records a finished copy
+	 *
+	 * @param type
+	 *            the class of the copied object
+	 * @param strategy
+	 *            the name of the copy method
+	 * @param fieldCount
+	 *            the number of copied fields or properties or 0 if unknown
+	 * @param bytes
+	 *            the number of serialized bytes or 0 if nothing was serialized
+	 * @param durationNanos
+	 *            the duration of the copy in nanoseconds
+	 */
+	void record(Class<?> type, String strategy, int fieldCount, long bytes, long durationNanos);
+
+	/**
+	 * Records a copy that failed with an exception. The default implementation ignores failures
+	 *
+	 * @param type
+	 *            the class of the original object
+	 * @param strategy
+	 *            the name of the copy method
+	 * @param failure
+	 *            the exception that is thrown from the copy method
+	 * @param durationNanos
+	 *            the duration until the failure in nanoseconds
+	 */
+	default void recordFailure(final Class<?> type, final String strategy,
+		final Throwable failure, final long durationNanos)
+	{
+	}
+
+}
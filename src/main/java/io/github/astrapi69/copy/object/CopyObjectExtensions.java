@@ -20,10 +20,7 @@
  */
 package io.github.astrapi69.copy.object;
 
-import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
-import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -32,17 +29,20 @@ import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.github.astrapi69.check.Check;
+import io.github.astrapi69.copy.object.CopyInstrumentation.CopyProbe;
+import io.github.astrapi69.copy.object.CopyRegistry.BeanProperties;
 import io.github.astrapi69.io.Serializer;
 import io.github.astrapi69.reflection.InstanceFactory;
 import io.github.astrapi69.reflection.ReflectionExtensions;
@@ -57,9 +57,16 @@ import lombok.experimental.UtilityClass;
 public final class CopyObjectExtensions
 {
 
+	/** The shared object mapper for copy maps to objects, it is thread safe after configuration */
+	static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+		.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+	/** The default maximum number of reads of a snapshot copy */
+	public static final int DEFAULT_SNAPSHOT_MAX_ATTEMPTS = 1_000;
 
 	/**
-	 * Copy the given original object.
+	 * Copy the given original object. Arrays and the common JDK collections and maps are copied
+	 * with type specific strategies, their elements are shared with the original object.
 	 *
 	 * @param <T>
 	 *            the generic type of the given object
@@ -75,13 +82,173 @@ public final class CopyObjectExtensions
 	public static <T> T copyObject(@NonNull T original, final String... ignoreFieldNames)
 		throws IllegalAccessException
 	{
+		final CopyProbe probe = CopyInstrumentation.begin();
 		Class<T> clazz = (Class<T>)original.getClass();
-		if (String.class.equals(clazz))
+		try
+		{
+			if (String.class.equals(clazz))
+			{
+				probe.end(clazz, "copyObject", 0, 0);
+				return (T)String.valueOf(original);
+			}
+			if (ContainerCopier.supports(clazz))
+			{
+				final T copy = ContainerCopier.copyShallow(original);
+				probe.end(clazz, "copyObject", 0, 0);
+				return copy;
+			}
+			T destination = InstanceFactory.newInstance(clazz);
+			final int fieldCount = copyFields(original, destination, ignoreFieldNames);
+			probe.end(clazz, "copyObject", fieldCount, 0);
+			return destination;
+		}
+		catch (final Throwable throwable)
 		{
-			return (T)String.valueOf(original);
+			probe.fail(clazz, "copyObject", throwable);
+			throw throwable;
 		}
-		T destination = InstanceFactory.newInstance(clazz);
-		return copyObject(original, destination, ignoreFieldNames);
+	}
+
+	/**
+	 * Creates a deep copy of the given original object with reflection. Shared references and
+	 * cycles of the original object graph are preserved in the copy. Immutable values and enum
+	 * constants are shared with the original object. Arrays and the common JDK collections and
+	 * maps are copied with type specific strategies and the copies of their elements. Objects with
+	 * fields that can not be accessed, like the internal classes of the JDK, are copied with
+	 * serialization while the objects they refer to are copied like all others, so their shared
+	 * references are preserved too. Only a cycle that leads back into such an object is copied
+	 * with a serialization of its own and does not share the references of the rest of the copy.
+	 *
+	 * @param <T>
+	 *            the generic type of the given object
+	 * @param original
+	 *            the original object
+	 * @return a deep copy of the given original object
+	 * @throws IllegalAccessException
+	 *             if the caller does not have access to a field
+	 */
+	public static <T> T deepCopyObject(final @NonNull T original) throws IllegalAccessException
+	{
+		return deepCopyObject(original, CopyOptions.DEFAULT);
+	}
+
+	/**
+	 * Creates a deep copy of the given original object with reflection and the given options, see
+	 * {@link #deepCopyObject(Object)}. If the options have a {@link ValueCanonicalizer} all
+	 * immutable values of the copy are replaced with their canonical instance. The maximum number
+	 * of bytes and objects of the options are checked for each copied object
+	 *
+	 * @param <T>
+	 *            the generic type of the given object
+	 * @param original
+	 *            the original object
+	 * @param options
+	 *            the copy options
+	 * @return a deep copy of the given original object
+	 * @throws IllegalAccessException
+	 *             if the caller does not have access to a field
+	 * @throws CopyLimitExceededException
+	 *             is thrown if the copy exceeds the maximum number of bytes or objects
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T deepCopyObject(final @NonNull T original,
+		final @NonNull CopyOptions options) throws IllegalAccessException
+	{
+		final CopyProbe probe = CopyInstrumentation.begin();
+		try
+		{
+			final T copy = (T)new DeepCopier(options).copy(original);
+			probe.end(original.getClass(), "deepCopyObject", 0, 0);
+			return copy;
+		}
+		catch (final Throwable throwable)
+		{
+			probe.fail(original.getClass(), "deepCopyObject", throwable);
+			throw throwable;
+		}
+	}
+
+	/**
+	 * Creates a consistent copy of the given original object that is modified concurrently. All
+	 * fields are read with acquire semantics without blocking the writers and the read is retried
+	 * until the given guard validates that no writer modified the object meanwhile. The referenced
+	 * objects are shared with the original object, final fields are not copied and keep the value
+	 * of the new instance
+	 *
+	 * @param <T>
+	 *            the generic type of the given object
+	 * @param original
+	 *            the original object
+	 * @param guard
+	 *            the guard that validates the read fields
+	 * @return a consistent copy of the given original object
+	 * @throws IllegalAccessException
+	 *             if the caller does not have access to a field
+	 * @throws java.util.ConcurrentModificationException
+	 *             is thrown if no consistent read succeeded after
+	 *             {@link #DEFAULT_SNAPSHOT_MAX_ATTEMPTS} attempts
+	 */
+	public static <T> T copySnapshot(final @NonNull T original,
+		final @NonNull SnapshotGuard<? super T> guard) throws IllegalAccessException
+	{
+		return copySnapshot(original, guard, DEFAULT_SNAPSHOT_MAX_ATTEMPTS);
+	}
+
+	/**
+	 * Creates a consistent copy of the given original object that is modified concurrently, see
+	 * {@link #copySnapshot(Object, SnapshotGuard)}
+	 *
+	 * @param <T>
+	 *            the generic type of the given object
+	 * @param original
+	 *            the original object
+	 * @param guard
+	 *            the guard that validates the read fields
+	 * @param maxAttempts
+	 *            the maximum number of reads
+	 * @return a consistent copy of the given original object
+	 * @throws IllegalAccessException
+	 *             if the caller does not have access to a field
+	 * @throws java.util.ConcurrentModificationException
+	 *             is thrown if no consistent read succeeded after the given number of attempts
+	 */
+	public static <T> T copySnapshot(final @NonNull T original,
+		final @NonNull SnapshotGuard<? super T> guard, final int maxAttempts)
+		throws IllegalAccessException
+	{
+		if (maxAttempts <= 0)
+		{
+			throw new IllegalArgumentException("maxAttempts must be positive");
+		}
+		final CopyProbe probe = CopyInstrumentation.begin();
+		try
+		{
+			final T copy = SnapshotCopier.copy(original, guard, maxAttempts);
+			probe.end(original.getClass(), "copySnapshot", 0, 0);
+			return copy;
+		}
+		catch (final Throwable throwable)
+		{
+			probe.fail(original.getClass(), "copySnapshot", throwable);
+			throw throwable;
+		}
+	}
+
+	/**
+	 * Creates a deep copy of the given original object with the fastest deep {@link CopyStrategy}
+	 * for its class. The strategy is selected and verified with the shared {@link AdaptiveCopier}
+	 *
+	 * @param <T>
+	 *            the generic type of the given object
+	 * @param original
+	 *            the original object
+	 * @return a copy of the given original object
+	 * @throws IllegalStateException
+	 *             is thrown if no strategy can copy the given object
+	 */
+	public static <T> T adaptiveCopy(final @NonNull T original)
+	{
+		return AdaptiveCopier.getDefault().copy(original);
 	}
 
 	/**
@@ -106,17 +273,37 @@ public final class CopyObjectExtensions
 		final @NonNull DESTINATION destination, final String... ignoreFieldNames)
 		throws IllegalAccessException
 	{
-		Field[] allDeclaredFields = ReflectionExtensions.getAllDeclaredFields(original.getClass(),
-			ignoreFieldNames);
+		final CopyProbe probe = CopyInstrumentation.begin();
+		try
+		{
+			final int fieldCount = copyFields(original, destination, ignoreFieldNames);
+			probe.end(original.getClass(), "copyObject", fieldCount, 0);
+			return destination;
+		}
+		catch (final Throwable throwable)
+		{
+			probe.fail(original.getClass(), "copyObject", throwable);
+			throw throwable;
+		}
+	}
+
+	private static <ORIGINAL, DESTINATION> int copyFields(final ORIGINAL original,
+		final DESTINATION destination, final String... ignoreFieldNames)
+		throws IllegalAccessException
+	{
+		final Field[] allDeclaredFields = CopyRegistry.getFieldPlan(original.getClass());
+		final List<String> ignoreFieldNameList = Arrays.asList(ignoreFieldNames);
+		int fieldCount = 0;
 		for (Field field : allDeclaredFields)
 		{
-			if (Arrays.asList(ignoreFieldNames).contains(field.getName())
-				|| copyField(field, original, destination))
+			if (ignoreFieldNameList.contains(field.getName()))
 			{
 				continue;
 			}
+			copyField(field, original, destination);
+			fieldCount++;
 		}
-		return destination;
+		return fieldCount;
 	}
 
 	/**
@@ -172,15 +359,25 @@ public final class CopyObjectExtensions
 	public static <T> T copyPropertiesWithReflection(final @NonNull T original,
 		final String... ignoreFieldNames) throws IllegalAccessException, NoSuchFieldException
 	{
+		final CopyProbe probe = CopyInstrumentation.begin();
 		Class<T> clazz = (Class<T>)original.getClass();
-		T destination = InstanceFactory.newInstance(clazz);
-		String[] allDeclaredFieldNames = ReflectionExtensions.getAllDeclaredFieldNames(clazz,
-			ignoreFieldNames);
-		for (String fieldName : allDeclaredFieldNames)
+		try
 		{
-			ReflectionExtensions.copyFieldValue(original, destination, fieldName);
+			T destination = InstanceFactory.newInstance(clazz);
+			String[] allDeclaredFieldNames = ReflectionExtensions.getAllDeclaredFieldNames(clazz,
+				ignoreFieldNames);
+			for (String fieldName : allDeclaredFieldNames)
+			{
+				ReflectionExtensions.copyFieldValue(original, destination, fieldName);
+			}
+			probe.end(clazz, "copyPropertiesWithReflection", allDeclaredFieldNames.length, 0);
+			return destination;
+		}
+		catch (final Throwable throwable)
+		{
+			probe.fail(clazz, "copyPropertiesWithReflection", throwable);
+			throw throwable;
 		}
-		return destination;
 	}
 
 	/**
@@ -210,8 +407,18 @@ public final class CopyObjectExtensions
 		final @NonNull String fieldName)
 		throws NoSuchFieldException, SecurityException, IllegalAccessException
 	{
-		ReflectionExtensions.copyFieldValue(original, destination, fieldName);
-		return destination;
+		final CopyProbe probe = CopyInstrumentation.begin();
+		try
+		{
+			ReflectionExtensions.copyFieldValue(original, destination, fieldName);
+			probe.end(original.getClass(), "copyPropertyWithReflection", 1, 0);
+			return destination;
+		}
+		catch (final Throwable throwable)
+		{
+			probe.fail(original.getClass(), "copyPropertyWithReflection", throwable);
+			throw throwable;
+		}
 	}
 
 	/**
@@ -238,22 +445,32 @@ public final class CopyObjectExtensions
 		throws IllegalAccessException, NoSuchFieldException, SecurityException
 	{
 		Check.get().notNull(source, "source").notNull(target, "target");
+		final CopyProbe probe = CopyInstrumentation.begin();
 
 		final Class<?> sourceClass = source.getClass();
 		final Class<?> targetClass = target.getClass();
 
-		List<String> fieldNames = ReflectionExtensions.getFieldNames(sourceClass);
+		try
+		{
+			List<String> fieldNames = ReflectionExtensions.getFieldNames(sourceClass);
 
 
-		for (String fieldName : fieldNames)
-		{
-			if (!Arrays.asList(ignoreFieldNames).contains(fieldName))
+			for (String fieldName : fieldNames)
 			{
-				ReflectionExtensions.copyFieldValue(source, target, fieldName);
+				if (!Arrays.asList(ignoreFieldNames).contains(fieldName))
+				{
+					ReflectionExtensions.copyFieldValue(source, target, fieldName);
+				}
 			}
-		}
 
-		return target;
+			probe.end(sourceClass, "copy", fieldNames.size(), 0);
+			return target;
+		}
+		catch (final Throwable throwable)
+		{
+			probe.fail(sourceClass, "copy", throwable);
+			throw throwable;
+		}
 	}
 
 	/**
@@ -275,19 +492,33 @@ public final class CopyObjectExtensions
 		throws IntrospectionException, IllegalAccessException, InvocationTargetException
 	{
 		Check.get().notNull(source, "source");
+		final CopyProbe probe = CopyInstrumentation.begin();
+		try
+		{
+			final Map<String, Object> stringObjectMap = toMap(source, ignoreFieldNames);
+			probe.end(source.getClass(), "copyToMap", stringObjectMap.size(), 0);
+			return stringObjectMap;
+		}
+		catch (final Throwable throwable)
+		{
+			probe.fail(source.getClass(), "copyToMap", throwable);
+			throw throwable;
+		}
+	}
+
+	private static Map<String, Object> toMap(final Object source, final String... ignoreFieldNames)
+		throws IntrospectionException, IllegalAccessException, InvocationTargetException
+	{
 		Map<String, Object> stringObjectMap = new HashMap<>();
-		BeanInfo beanInfo = Introspector.getBeanInfo(source.getClass());
-		for (PropertyDescriptor propertyDescriptor : beanInfo.getPropertyDescriptors())
+		final BeanProperties beanProperties = CopyRegistry.getBeanProperties(source.getClass());
+		final List<String> ignoreFieldNameList = Arrays.asList(ignoreFieldNames);
+		for (int i = 0; i < beanProperties.readableNames.length; i++)
 		{
-			String name = propertyDescriptor.getName();
-			if (!Arrays.asList(ignoreFieldNames).contains(name))
+			String name = beanProperties.readableNames[i];
+			if (!ignoreFieldNameList.contains(name))
 			{
-				Method reader = propertyDescriptor.getReadMethod();
-				if (reader != null)
-				{
-					Object value = reader.invoke(source);
-					stringObjectMap.put(name, value);
-				}
+				Object value = beanProperties.readers[i].invoke(source);
+				stringObjectMap.put(name, value);
 			}
 		}
 		return stringObjectMap;
@@ -313,8 +544,22 @@ public final class CopyObjectExtensions
 		final String... ignoreFieldNames)
 		throws IntrospectionException, IllegalAccessException, InvocationTargetException
 	{
-		return Serializer
-			.toBase64EncodedString((HashMap<String, Object>)copyToMap(source, ignoreFieldNames));
+		Check.get().notNull(source, "source");
+		final CopyProbe probe = CopyInstrumentation.begin();
+		try
+		{
+			final HashMap<String, Object> map = (HashMap<String, Object>)toMap(source,
+				ignoreFieldNames);
+			final String base64EncodedString = Serializer.toBase64EncodedString(map);
+			probe.end(source.getClass(), "copyObjectToMapBase64EncodedString", map.size(),
+				base64EncodedString.length() * 3L / 4);
+			return base64EncodedString;
+		}
+		catch (final Throwable throwable)
+		{
+			probe.fail(source.getClass(), "copyObjectToMapBase64EncodedString", throwable);
+			throw throwable;
+		}
 	}
 
 	/**
@@ -334,9 +579,21 @@ public final class CopyObjectExtensions
 	public static <T> T copyBase64EncodedStringMapToObject(@NonNull String base64EncodedStringMap,
 		@NonNull Class<T> cls)
 	{
-		Map<String, Object> stringObjectMapap = (HashMap<String, Object>)Serializer
-			.toObject(base64EncodedStringMap);
-		return copyMapToObject(stringObjectMapap, cls);
+		final CopyProbe probe = CopyInstrumentation.begin();
+		try
+		{
+			Map<String, Object> stringObjectMapap = (HashMap<String, Object>)Serializer
+				.toObject(base64EncodedStringMap);
+			final T object = OBJECT_MAPPER.convertValue(stringObjectMapap, cls);
+			probe.end(cls, "copyBase64EncodedStringMapToObject", stringObjectMapap.size(),
+				base64EncodedStringMap.length() * 3L / 4);
+			return object;
+		}
+		catch (final Throwable throwable)
+		{
+			probe.fail(cls, "copyBase64EncodedStringMapToObject", throwable);
+			throw throwable;
+		}
 	}
 
 	/**
@@ -352,9 +609,117 @@ public final class CopyObjectExtensions
 	 */
 	public static <T> T copyMapToObject(@NonNull Map<String, Object> map, @NonNull Class<T> cls)
 	{
-		final ObjectMapper mapper = new ObjectMapper();
-		mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-		return mapper.convertValue(map, cls);
+		final CopyProbe probe = CopyInstrumentation.begin();
+		try
+		{
+			final T object = OBJECT_MAPPER.convertValue(map, cls);
+			probe.end(cls, "copyMapToObject", map.size(), 0);
+			return object;
+		}
+		catch (final Throwable throwable)
+		{
+			probe.fail(cls, "copyMapToObject", throwable);
+			throw throwable;
+		}
+	}
+
+	/**
+	 * Copy the given original object with its properties over a map to a new object of the same
+	 * class, this is the {@link CopyStrategy#MAP} strategy
+	 *
+	 * @param <T>
+	 *            the generic type of the given object
+	 * @param original
+	 *            the original object
+	 * @return a copy of the given original object
+	 * @throws IntrospectionException
+	 *             is thrown if an exception occurs during introspection
+	 * @throws IllegalAccessException
+	 *             if the caller does not have access to the property accessor method
+	 * @throws InvocationTargetException
+	 *             is thrown if the underlying method throws an exception
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> T copyWithMap(final @NonNull T original)
+		throws IntrospectionException, IllegalAccessException, InvocationTargetException
+	{
+		final CopyProbe probe = CopyInstrumentation.begin();
+		try
+		{
+			final Map<String, Object> map = toMap(original, "class");
+			final T copy = OBJECT_MAPPER.convertValue(map, (Class<T>)original.getClass());
+			probe.end(original.getClass(), "copyWithMap", map.size(), 0);
+			return copy;
+		}
+		catch (final Throwable throwable)
+		{
+			probe.fail(original.getClass(), "copyWithMap", throwable);
+			throw throwable;
+		}
+	}
+
+	/**
+	 * Copies all the given maps to new objects from the given class. Each map is recorded as one
+	 * copy like in {@link #copyMapsToObjects(Stream, Class)}. The key set of a map is resolved once
+	 * to the property writers of the given class and reused for all following maps with the same
+	 * key set
+	 *
+	 * @param <T>
+	 *            the generic type of the returned objects
+	 * @param maps
+	 *            the list with the maps
+	 * @param cls
+	 *            the class object
+	 * @return a list with the new objects from the given class in the order of the given maps
+	 */
+	public static <T> List<T> copyMapsToObjects(@NonNull List<Map<String, Object>> maps,
+		@NonNull Class<T> cls)
+	{
+		final MapToObjectConverter<T> converter = CopyRegistry.getMapToObjectConverter(cls);
+		final List<T> objects = new ArrayList<>(maps.size());
+		for (Map<String, Object> map : maps)
+		{
+			objects.add(copyMapToObject(converter, map, cls));
+		}
+		return objects;
+	}
+
+	/**
+	 * Copies all maps of the given stream to new objects from the given class. The maps are copied
+	 * lazy while the returned stream is consumed, so the given maps are never buffered and each map
+	 * is recorded as one copy. The key set of a map is resolved once to the property writers of the
+	 * given class and reused for all following maps with the same key set
+	 *
+	 * @param <T>
+	 *            the generic type of the returned objects
+	 * @param maps
+	 *            the stream with the maps
+	 * @param cls
+	 *            the class object
+	 * @return a stream with the new objects from the given class
+	 */
+	public static <T> Stream<T> copyMapsToObjects(@NonNull Stream<Map<String, Object>> maps,
+		@NonNull Class<T> cls)
+	{
+		final MapToObjectConverter<T> converter = CopyRegistry.getMapToObjectConverter(cls);
+		return maps.map(map -> copyMapToObject(converter, map, cls));
+	}
+
+	private static <T> T copyMapToObject(final MapToObjectConverter<T> converter,
+		final Map<String, Object> map, final Class<T> cls)
+	{
+		final CopyProbe probe = CopyInstrumentation.begin();
+		try
+		{
+			final T object = converter.apply(map);
+			probe.end(cls, "copyMapsToObjects", map.size(), 0);
+			return object;
+		}
+		catch (final Throwable throwable)
+		{
+			probe.fail(cls, "copyMapsToObjects", throwable);
+			throw throwable;
+		}
 	}
 
 	/**
@@ -372,14 +737,53 @@ public final class CopyObjectExtensions
 	 *             is thrown when a class is not found in the classloader or no definition for the
 	 *             class with the specified name could be found.
 	 */
-	@SuppressWarnings("unchecked")
 	public static <T extends Serializable> T copySerializedObject(final @NonNull T orig)
 		throws IOException, ClassNotFoundException
 	{
-		try (ByteArrayInputStream bis = new ByteArrayInputStream(toByteArray(orig));
-			ObjectInputStream ois = new ObjectInputStream(bis))
+		return copySerializedObject(orig, CopyOptions.DEFAULT);
+	}
+
+	/**
+	 * Copys the given Object with the given options and returns the copy from the object. If the
+	 * options have a {@link ValueCanonicalizer} all immutable values of the copy are replaced with
+	 * their canonical instance. The maximum number of bytes and objects of the options are checked
+	 * while the given object is serialized
+	 *
+	 * @param <T>
+	 *            the generic type of the given object
+	 * @param orig
+	 *            The object to copy.
+	 * @param options
+	 *            the copy options
+	 * @return Returns a copy from the original object.
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class is not found in the classloader or no definition for the
+	 *             class with the specified name could be found.
+	 * @throws CopyLimitExceededException
+	 *             is thrown if the copy exceeds the maximum number of bytes or objects
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends Serializable> T copySerializedObject(final @NonNull T orig,
+		final @NonNull CopyOptions options) throws IOException, ClassNotFoundException
+	{
+		final CopyProbe probe = CopyInstrumentation.begin();
+		try
+		{
+			final byte[] bytes = serialize(orig, new CopyBudget(options));
+			try (ByteArrayInputStream bis = new ByteArrayInputStream(bytes);
+				ObjectInputStream ois = new CopyObjectInputStream(bis, options))
+			{
+				final T copy = (T)ois.readObject();
+				probe.end(orig.getClass(), "copySerializedObject", 0, bytes.length);
+				return copy;
+			}
+		}
+		catch (final Throwable throwable)
 		{
-			return (T)ois.readObject();
+			probe.fail(orig.getClass(), "copySerializedObject", throwable);
+			throw throwable;
 		}
 	}
 
@@ -396,9 +800,51 @@ public final class CopyObjectExtensions
 	 */
 	public static <T extends Serializable> byte[] toByteArray(final @NonNull T object)
 		throws IOException
+	{
+		return toByteArray(object, CopyOptions.DEFAULT);
+	}
+
+	/**
+	 * Copies the given object to a byte array and checks the maximum number of bytes and objects of
+	 * the given options while the object is serialized
+	 *
+	 * @param <T>
+	 *            the generic type of the given object
+	 * @param object
+	 *            The object to copy
+	 * @param options
+	 *            the copy options
+	 * @return the byte array
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 * @throws CopyLimitExceededException
+	 *             is thrown if the serialized object exceeds the maximum number of bytes or objects
+	 */
+	public static <T extends Serializable> byte[] toByteArray(final @NonNull T object,
+		final @NonNull CopyOptions options) throws IOException
+	{
+		final CopyProbe probe = CopyInstrumentation.begin();
+		try
+		{
+			final byte[] bytes = serialize(object, new CopyBudget(options));
+			probe.end(object.getClass(), "toByteArray", 0, bytes.length);
+			return bytes;
+		}
+		catch (final Throwable throwable)
+		{
+			probe.fail(object.getClass(), "toByteArray", throwable);
+			throw throwable;
+		}
+	}
+
+	private static byte[] serialize(final Object object, final CopyBudget budget)
+		throws IOException
 	{
 		try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-			ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream))
+			ObjectOutputStream objectOutputStream = budget.isLimited()
+				? new CopyObjectOutputStream(
+					new CopyBudgetOutputStream(byteArrayOutputStream, budget), budget)
+				: new ObjectOutputStream(byteArrayOutputStream))
 		{
 			objectOutputStream.writeObject(object);
 			objectOutputStream.flush();
@@ -406,4 +852,18 @@ public final class CopyObjectExtensions
 		}
 	}
 
+	/**
+	 * Estimates the number of bytes that the given object and all objects that are reachable from
+	 * it occupy on the heap. This is also an estimation of the number of bytes of a deep copy of
+	 * the given object. The estimation assumes a 64 bit JVM with compressed references
+	 *
+	 * @param object
+	 *            the object
+	 * @return the estimated number of bytes or 0 if the given object is null
+	 */
+	public static long estimateDeepSize(final Object object)
+	{
+		return DeepSizeEstimator.estimate(object);
+	}
+
 }
@@ -0,0 +1,62 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+
+/**
+ * The class {@link CopyObjectInputStream} is an {@link ObjectInputStream} that applies the given
+ * {@link CopyOptions} to every object that is read
+ */
+final class CopyObjectInputStream extends ObjectInputStream
+{
+
+	private final ValueCanonicalizer canonicalizer;
+
+	/**
+	 * Instantiates a new {@link CopyObjectInputStream}
+	 *
+	 * @param in
+	 *            the input stream to read from
+	 * @param options
+	 *            the copy options
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	CopyObjectInputStream(final InputStream in, final CopyOptions options) throws IOException
+	{
+		super(in);
+		this.canonicalizer = options.getCanonicalizer();
+		if (canonicalizer != null)
+		{
+			enableResolveObject(true);
+		}
+	}
+
+	@Override
+	protected Object resolveObject(final Object object) throws IOException
+	{
+		return canonicalizer.canonicalize(object);
+	}
+
+}
@@ -0,0 +1,63 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+
+/**
+ * The class {@link CopyObjectOutputStream} is an {@link ObjectOutputStream} that adds every written
+ * object to the {@link CopyBudget} of the copy
+ */
+final class CopyObjectOutputStream extends ObjectOutputStream
+{
+
+	private final CopyBudget budget;
+
+	/**
+	 * Instantiates a new {@link CopyObjectOutputStream}
+	 *
+	 * @param out
+	 *            the output stream to write to
+	 * @param budget
+	 *            the budget of the copy
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	CopyObjectOutputStream(final OutputStream out, final CopyBudget budget) throws IOException
+	{
+		super(out);
+		this.budget = budget;
+		if (budget.isObjectsLimited())
+		{
+			enableReplaceObject(true);
+		}
+	}
+
+	@Override
+	protected Object replaceObject(final Object object) throws IOException
+	{
+		budget.addObject(0);
+		return object;
+	}
+
+}
@@ -0,0 +1,173 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+/**
+ * The class {@link CopyOptions} holds the options of the copy methods that accept options. New
+ * instances are created with the {@link Builder} from {@link #builder()}
+ */
+public final class CopyOptions
+{
+
+	/** The default options */
+	public static final CopyOptions DEFAULT = builder().build();
+
+	private final ValueCanonicalizer canonicalizer;
+	private final long maxBytes;
+	private final long maxObjects;
+
+	private CopyOptions(final Builder builder)
+	{
+		this.canonicalizer = builder.canonicalizer;
+		this.maxBytes = builder.maxBytes;
+		this.maxObjects = builder.maxObjects;
+	}
+
+	/**
+	 * Factory method for create a new {@link Builder}
+	 *
+	 * @return the new {@link Builder}
+	 */
+	public static Builder builder()
+	{
+		return new Builder();
+	}
+
+	/**
+	 * Gets the canonicalizer for deduplicate immutable values in a copy
+	 *
+	 * @return the canonicalizer or null if values are not deduplicated
+	 */
+	public ValueCanonicalizer getCanonicalizer()
+	{
+		return canonicalizer;
+	}
+
+	/**
+	 * Gets the maximum number of bytes of a copy. For serialized copies this is the number of
+	 * serialized bytes and for reflective copies the estimated number of bytes on the heap
+	 *
+	 * @return the maximum number of bytes or {@link Long#MAX_VALUE} if the bytes are not limited
+	 */
+	public long getMaxBytes()
+	{
+		return maxBytes;
+	}
+
+	/**
+	 * Gets the maximum number of objects of a copy
+	 *
+	 * @return the maximum number of objects or {@link Long#MAX_VALUE} if the objects are not
+	 *         limited
+	 */
+	public long getMaxObjects()
+	{
+		return maxObjects;
+	}
+
+	/**
+	 * Creates a new {@link Builder} that is initialized with the values of this options
+	 *
+	 * @return the new {@link Builder}
+	 */
+	public Builder toBuilder()
+	{
+		return new Builder().canonicalizer(canonicalizer).maxBytes(maxBytes)
+			.maxObjects(maxObjects);
+	}
+
+	/**
+	 * The class {@link Builder} creates new {@link CopyOptions} objects
+	 */
+	public static final class Builder
+	{
+
+		private ValueCanonicalizer canonicalizer;
+		private long maxBytes = Long.MAX_VALUE;
+		private long maxObjects = Long.MAX_VALUE;
+
+		private Builder()
+		{
+		}
+
+		/**
+		 * Sets the canonicalizer for deduplicate immutable values in a copy, the same
+		 * canonicalizer can be shared between many copies
+		 *
+		 * @param canonicalizer
+		 *            the canonicalizer or null for not deduplicate values
+		 * @return this builder
+		 */
+		public Builder canonicalizer(final ValueCanonicalizer canonicalizer)
+		{
+			this.canonicalizer = canonicalizer;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of bytes of a copy, a copy that exceeds this limit is aborted
+		 * with a {@link CopyLimitExceededException}
+		 *
+		 * @param maxBytes
+		 *            the maximum number of bytes
+		 * @return this builder
+		 */
+		public Builder maxBytes(final long maxBytes)
+		{
+			if (maxBytes < 0)
+			{
+				throw new IllegalArgumentException("maxBytes must not be negative");
+			}
+			this.maxBytes = maxBytes;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of objects of a copy, a copy that exceeds this limit is aborted
+		 * with a {@link CopyLimitExceededException}
+		 *
+		 * @param maxObjects
+		 *            the maximum number of objects
+		 * @return this builder
+		 */
+		public Builder maxObjects(final long maxObjects)
+		{
+			if (maxObjects < 0)
+			{
+				throw new IllegalArgumentException("maxObjects must not be negative");
+			}
+			this.maxObjects = maxObjects;
+			return this;
+		}
+
+		/**
+		 * Creates the new {@link CopyOptions}
+		 *
+		 * @return the new {@link CopyOptions}
+		 */
+		public CopyOptions build()
+		{
+			return new CopyOptions(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,376 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import lombok.NonNull;
+
+/**
+ * The class {@link CopyProcessor} is a {@link Flow.Processor} that copies every received item with
+ * a {@link CopyFunction} and publishes the copies in the order of the received items.<br>
+ * <br>
+ * The received items are collected in batches and the items of a batch are copied concurrent on
+ * the given executor. A batch is dispatched when it is full, when the requested items from the
+ * upstream publisher are used up, or when its first item waited for the maximum batch delay, so
+ * the items of an upstream publisher that stays open are not held back. The processor requests at
+ * most two batches in advance from the upstream publisher and the published copies are buffered
+ * up to the given maximum buffer capacity, so all buffers are bounded and a slow subscriber slows
+ * down the upstream publisher.<br>
+ * <br>
+ * The copies are delivered to the subscribers on a delivery executor that is separate from the
+ * copy executor, because the publication of a batch waits for free buffer space on a thread of the
+ * copy executor. If both were the same bounded executor, the delivery that frees the buffer could
+ * never run.
+ *
+ * @param <T>
+ *            the generic type of the items
+ */
+public class CopyProcessor<T> extends SubmissionPublisher<T> implements Flow.Processor<T, T>
+{
+
+	/** The default number of items that are copied in one batch */
+	public static final int DEFAULT_BATCH_SIZE = 32;
+
+	/** The default maximum time that the first item of an incomplete batch waits for a dispatch */
+	public static final Duration DEFAULT_MAX_BATCH_DELAY = Duration.ofMillis(10);
+
+	/**
+	 * The default executor for deliver the copies to the subscribers, the common pool if it has
+	 * more than one thread otherwise a new thread for each task like the default of
+	 * {@link SubmissionPublisher}
+	 */
+	private static final Executor DEFAULT_DELIVERY_EXECUTOR = 1 < ForkJoinPool
+		.getCommonPoolParallelism() ? ForkJoinPool.commonPool() : task -> new Thread(task).start();
+
+	private final CopyFunction<T> copyFunction;
+	private final Executor executor;
+	private final Executor flushExecutor;
+	private final int batchSize;
+	private final AtomicBoolean failed = new AtomicBoolean();
+	private final Object lock = new Object();
+	private Flow.Subscription subscription;
+	private List<T> batch;
+	private long batchNumber;
+	private long demand;
+	private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+
+	/**
+	 * Instantiates a new {@link CopyProcessor} that copies the items with the given strategy on the
+	 * common pool
+	 *
+	 * @param strategy
+	 *            the copy strategy
+	 */
+	public CopyProcessor(final @NonNull CopyStrategy strategy)
+	{
+		this(strategy::copy);
+	}
+
+	/**
+	 * Instantiates a new {@link CopyProcessor} that copies the items with the given copy function
+	 * on the common pool
+	 *
+	 * @param copyFunction
+	 *            the copy function
+	 */
+	public CopyProcessor(final @NonNull CopyFunction<T> copyFunction)
+	{
+		this(copyFunction, ForkJoinPool.commonPool(), Flow.defaultBufferSize(), DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Instantiates a new {@link CopyProcessor} that delivers the copies to the subscribers on the
+	 * default executor of {@link SubmissionPublisher}
+	 *
+	 * @param copyFunction
+	 *            the copy function
+	 * @param executor
+	 *            the executor for copy the items
+	 * @param maxBufferCapacity
+	 *            the maximum capacity of the buffer for each subscriber
+	 * @param batchSize
+	 *            the number of items that are copied in one batch
+	 */
+	public CopyProcessor(final @NonNull CopyFunction<T> copyFunction,
+		final @NonNull Executor executor, final int maxBufferCapacity, final int batchSize)
+	{
+		this(copyFunction, executor, maxBufferCapacity, batchSize, DEFAULT_MAX_BATCH_DELAY);
+	}
+
+	/**
+	 * Instantiates a new {@link CopyProcessor} that delivers the copies to the subscribers on the
+	 * default executor of {@link SubmissionPublisher}
+	 *
+	 * @param copyFunction
+	 *            the copy function
+	 * @param executor
+	 *            the executor for copy the items
+	 * @param maxBufferCapacity
+	 *            the maximum capacity of the buffer for each subscriber
+	 * @param batchSize
+	 *            the number of items that are copied in one batch
+	 * @param maxBatchDelay
+	 *            the maximum time that the first item of an incomplete batch waits before the
+	 *            batch is dispatched
+	 */
+	public CopyProcessor(final @NonNull CopyFunction<T> copyFunction,
+		final @NonNull Executor executor, final int maxBufferCapacity, final int batchSize,
+		final @NonNull Duration maxBatchDelay)
+	{
+		this(copyFunction, executor, DEFAULT_DELIVERY_EXECUTOR, maxBufferCapacity, batchSize,
+			maxBatchDelay);
+	}
+
+	/**
+	 * Instantiates a new {@link CopyProcessor}
+	 *
+	 * @param copyFunction
+	 *            the copy function
+	 * @param executor
+	 *            the executor for copy the items
+	 * @param deliveryExecutor
+	 *            the executor for deliver the copies to the subscribers, it must not be the same
+	 *            bounded executor as the copy executor
+	 * @param maxBufferCapacity
+	 *            the maximum capacity of the buffer for each subscriber
+	 * @param batchSize
+	 *            the number of items that are copied in one batch
+	 * @param maxBatchDelay
+	 *            the maximum time that the first item of an incomplete batch waits before the
+	 *            batch is dispatched
+	 */
+	public CopyProcessor(final @NonNull CopyFunction<T> copyFunction,
+		final @NonNull Executor executor, final @NonNull Executor deliveryExecutor,
+		final int maxBufferCapacity, final int batchSize, final @NonNull Duration maxBatchDelay)
+	{
+		super(deliveryExecutor, maxBufferCapacity);
+		if (batchSize <= 0)
+		{
+			throw new IllegalArgumentException("batchSize must be positive");
+		}
+		if (maxBatchDelay.isNegative() || maxBatchDelay.isZero())
+		{
+			throw new IllegalArgumentException("maxBatchDelay must be positive");
+		}
+		this.copyFunction = copyFunction;
+		this.executor = executor;
+		this.flushExecutor = CompletableFuture.delayedExecutor(maxBatchDelay.toNanos(),
+			TimeUnit.NANOSECONDS, executor);
+		this.batchSize = batchSize;
+		this.batch = new ArrayList<>(batchSize);
+	}
+
+	/**
+	 * Factory method for create a new executor that starts a new virtual thread for each task. This
+	 * executor is suited for copy functions that block, for instance getters that trigger lazy
+	 * loading. Virtual threads are available since java 21
+	 *
+	 * @return the new executor
+	 * @throws UnsupportedOperationException
+	 *             is thrown if the current java runtime does not support virtual threads
+	 */
+	public static ExecutorService newVirtualThreadPerTaskExecutor()
+	{
+		try
+		{
+			return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+				.invoke(null);
+		}
+		catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e)
+		{
+			throw new UnsupportedOperationException(
+				"Virtual threads are not supported from the current java runtime", e);
+		}
+	}
+
+	@Override
+	public void onSubscribe(final @NonNull Flow.Subscription subscription)
+	{
+		if (this.subscription != null)
+		{
+			subscription.cancel();
+			return;
+		}
+		this.subscription = subscription;
+		request(2L * batchSize);
+	}
+
+	@Override
+	public void onNext(final @NonNull T item)
+	{
+		synchronized (lock)
+		{
+			batch.add(item);
+			demand--;
+			if (batch.size() >= batchSize || demand <= 0)
+			{
+				dispatch();
+			}
+			else if (batch.size() == 1)
+			{
+				final long number = batchNumber;
+				flushExecutor.execute(() -> flush(number));
+			}
+		}
+	}
+
+	@Override
+	public void onError(final @NonNull Throwable throwable)
+	{
+		synchronized (lock)
+		{
+			if (!batch.isEmpty())
+			{
+				dispatch();
+			}
+			tail.whenComplete((result, failure) -> {
+				if (failure == null)
+				{
+					closeExceptionallyAfterDelivery(throwable, Integer.MAX_VALUE);
+				}
+			});
+		}
+	}
+
+	@Override
+	public void onComplete()
+	{
+		synchronized (lock)
+		{
+			if (!batch.isEmpty())
+			{
+				dispatch();
+			}
+			tail.thenRun(this::close);
+		}
+	}
+
+	private void flush(final long number)
+	{
+		synchronized (lock)
+		{
+			if (number == batchNumber && !batch.isEmpty())
+			{
+				dispatch();
+			}
+		}
+	}
+
+	/**
+	 * Closes this processor with the given error after the subscribers consumed the published
+	 * copies. A subscriber receives an error before its buffered items, so the error waits as long
+	 * as the subscribers make progress and is issued when all copies are consumed or no subscriber
+	 * consumed a copy within the maximum batch delay
+	 *
+	 * @param throwable
+	 *            the error of the upstream publisher
+	 * @param lastLag
+	 *            the number of unconsumed copies at the last check
+	 */
+	private void closeExceptionallyAfterDelivery(final Throwable throwable, final int lastLag)
+	{
+		final int lag = estimateMaximumLag();
+		if (lag == 0 || lastLag <= lag)
+		{
+			closeExceptionally(throwable);
+			return;
+		}
+		flushExecutor.execute(() -> closeExceptionallyAfterDelivery(throwable, lag));
+	}
+
+	private void request(final long count)
+	{
+		synchronized (lock)
+		{
+			demand += count;
+		}
+		subscription.request(count);
+	}
+
+	private void dispatch()
+	{
+		final List<T> items = batch;
+		batch = new ArrayList<>(batchSize);
+		batchNumber++;
+		final List<CompletableFuture<T>> copies = new ArrayList<>(items.size());
+		for (T item : items)
+		{
+			copies.add(CompletableFuture.supplyAsync(() -> copy(item), executor));
+		}
+		tail = tail
+			.thenCompose(
+				v -> CompletableFuture.allOf(copies.toArray(new CompletableFuture<?>[0])))
+			.thenRunAsync(() -> publish(copies), executor);
+		tail.whenComplete((result, failure) -> {
+			if (failure != null)
+			{
+				fail(failure);
+			}
+		});
+	}
+
+	private T copy(final T item)
+	{
+		try
+		{
+			return copyFunction.copy(item);
+		}
+		catch (Exception e)
+		{
+			throw new CompletionException(e);
+		}
+	}
+
+	private void publish(final List<CompletableFuture<T>> copies)
+	{
+		for (CompletableFuture<T> copy : copies)
+		{
+			submit(copy.join());
+		}
+		request(copies.size());
+	}
+
+	private void fail(final Throwable failure)
+	{
+		if (failed.compareAndSet(false, true))
+		{
+			subscription.cancel();
+			closeExceptionally(failure instanceof CompletionException && failure.getCause() != null
+				? failure.getCause()
+				: failure);
+		}
+	}
+
+}
@@ -0,0 +1,285 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import java.util.List;
+
+/**
+ * The class {@link CopyProfile} holds the result of the profiling of one class with the class
+ * {@link CopyProfiler}. The costs of the fields and properties are ranked from the most to the
+ * least expensive
+ */
+public final class CopyProfile
+{
+
+	private final Class<?> type;
+	private final int iterations;
+	private final List<FieldCost> fieldCosts;
+
+	CopyProfile(final Class<?> type, final int iterations, final List<FieldCost> fieldCosts)
+	{
+		this.type = type;
+		this.iterations = iterations;
+		this.fieldCosts = List.copyOf(fieldCosts);
+	}
+
+	/**
+	 * Gets the profiled class
+	 *
+	 * @return the profiled class
+	 */
+	public Class<?> getType()
+	{
+		return type;
+	}
+
+	/**
+	 * Gets the number of profiled copies
+	 *
+	 * @return the number of profiled copies
+	 */
+	public int getIterations()
+	{
+		return iterations;
+	}
+
+	/**
+	 * Gets the costs of the fields and properties ranked from the most to the least expensive
+	 *
+	 * @return an unmodifiable list with the ranked costs
+	 */
+	public List<FieldCost> getFieldCosts()
+	{
+		return fieldCosts;
+	}
+
+	/**
+	 * Creates a text report with one line for each field or property in the order of the ranking
+	 *
+	 * @return the text report
+	 */
+	public String toText()
+	{
+		final StringBuilder sb = new StringBuilder();
+		sb.append("Copy profile of ").append(type.getName()).append(" over ").append(iterations)
+			.append(" copies").append(System.lineSeparator());
+		sb.append(String.format("%-4s %-24s %12s %12s %12s %12s  %s%n", "rank", "name",
+			"field ns", "getter ns", "serialized", "deep size", "notes"));
+		int rank = 1;
+		for (FieldCost fieldCost : fieldCosts)
+		{
+			sb.append(String.format("%-4d %-24s %12s %12s %12s %12d  %s%n", rank++,
+				fieldCost.getName(), format(fieldCost.getFieldNanos()),
+				format(fieldCost.getGetterNanos()), format(fieldCost.getSerializedBytes()),
+				fieldCost.getDeepSize(), fieldCost.getNotes()));
+		}
+		return sb.toString();
+	}
+
+	private static String format(final long value)
+	{
+		return value < 0 ? "-" : String.valueOf(value);
+	}
+
+	@Override
+	public String toString()
+	{
+		return "CopyProfile[type=" + type.getName() + ", iterations=" + iterations
+			+ ", fieldCosts=" + fieldCosts + "]";
+	}
+
+	/**
+	 * The class {@link FieldCost} holds the average costs of one field or bean property of the
+	 * profiled class. Costs that do not apply to the field or property are -1
+	 */
+	public static final class FieldCost
+	{
+
+		private final String name;
+		private final Class<?> valueType;
+		private final boolean accessible;
+		private final boolean readable;
+		private final boolean writable;
+		private final long fieldNanos;
+		private final long getterNanos;
+		private final long serializedBytes;
+		private final long deepSize;
+
+		FieldCost(final String name, final Class<?> valueType, final boolean accessible,
+			final boolean readable, final boolean writable, final long fieldNanos,
+			final long getterNanos, final long serializedBytes, final long deepSize)
+		{
+			this.name = name;
+			this.valueType = valueType;
+			this.accessible = accessible;
+			this.readable = readable;
+			this.writable = writable;
+			this.fieldNanos = fieldNanos;
+			this.getterNanos = getterNanos;
+			this.serializedBytes = serializedBytes;
+			this.deepSize = deepSize;
+		}
+
+		/**
+		 * Gets the name of the field or property
+		 *
+		 * @return the name of the field or property
+		 */
+		public String getName()
+		{
+			return name;
+		}
+
+		/**
+		 * Gets the declared type of the field or property
+		 *
+		 * @return the declared type of the field or property
+		 */
+		public Class<?> getValueType()
+		{
+			return valueType;
+		}
+
+		/**
+		 * Checks if the field can be copied with reflection. If a field of a class is not
+		 * accessible the method {@link CopyObjectExtensions#deepCopyObject(Object)} falls back to
+		 * serialization for the whole object
+		 *
+		 * @return true if the field exists and is accessible otherwise false
+		 */
+		public boolean isAccessible()
+		{
+			return accessible;
+		}
+
+		/**
+		 * Checks if the property has a read method, so it is contained in the result of the method
+		 * {@link CopyObjectExtensions#copyToMap(Object, String...)}
+		 *
+		 * @return true if the property has a read method otherwise false
+		 */
+		public boolean isReadable()
+		{
+			return readable;
+		}
+
+		/**
+		 * Checks if the property has a plain setter that the method
+		 * {@link CopyObjectExtensions#copyMapsToObjects(java.util.List, Class)} calls directly. If
+		 * a key of the maps has no plain setter all maps with this key set are copied with jackson.
+		 * The method {@link CopyObjectExtensions#copyMapToObject(java.util.Map, Class)} always
+		 * copies with jackson
+		 *
+		 * @return true if the property has a plain setter otherwise false
+		 */
+		public boolean isWritable()
+		{
+			return writable;
+		}
+
+		/**
+		 * Gets the average nanoseconds to read and write the field with reflection
+		 *
+		 * @return the average nanoseconds per copy or -1 if the field is not accessible
+		 */
+		public long getFieldNanos()
+		{
+			return fieldNanos;
+		}
+
+		/**
+		 * Gets the average nanoseconds of the read method of the property
+		 *
+		 * @return the average nanoseconds per copy or -1 if the property is not readable
+		 */
+		public long getGetterNanos()
+		{
+			return getterNanos;
+		}
+
+		/**
+		 * Gets the serialized size of the value
+		 *
+		 * @return the serialized size in bytes or -1 if the value is not serializable
+		 */
+		public long getSerializedBytes()
+		{
+			return serializedBytes;
+		}
+
+		/**
+		 * Gets the estimated heap size of the value and the objects it references
+		 *
+		 * @return the estimated deep size in bytes
+		 */
+		public long getDeepSize()
+		{
+			return deepSize;
+		}
+
+		/**
+		 * Gets the sum of the average nanoseconds of the field and the read method
+		 *
+		 * @return the average nanoseconds per copy
+		 */
+		public long getTotalNanos()
+		{
+			return Math.max(fieldNanos, 0) + Math.max(getterNanos, 0);
+		}
+
+		/**
+		 * Gets the notes about the fallbacks that the copy methods use for this field or property
+		 *
+		 * @return the notes or an empty string if no fallback is used
+		 */
+		public String getNotes()
+		{
+			final StringBuilder sb = new StringBuilder();
+			if (!accessible)
+			{
+				sb.append("no accessible field; ");
+			}
+			if (!readable)
+			{
+				sb.append("no getter; ");
+			}
+			if (!writable)
+			{
+				sb.append("no setter, copyMapsToObjects falls back to jackson; ");
+			}
+			if (serializedBytes < 0)
+			{
+				sb.append("not serializable; ");
+			}
+			return sb.length() == 0 ? "" : sb.substring(0, sb.length() - 2);
+		}
+
+		@Override
+		public String toString()
+		{
+			return "FieldCost[name=" + name + ", fieldNanos=" + fieldNanos + ", getterNanos="
+				+ getterNanos + ", serializedBytes=" + serializedBytes + ", deepSize=" + deepSize
+				+ "]";
+		}
+
+	}
+
+}
@@ -0,0 +1,192 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import java.beans.IntrospectionException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.astrapi69.reflection.InstanceFactory;
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+
+/**
+ * The class {@link CopyProfiler} profiles the copy costs of the fields and bean properties of a
+ * class over a number of copies of a sample object. For each field it records the time of the
+ * reflective copy and of the read method, the serialized size and the estimated heap size of the
+ * value, and whether the copy methods of the class {@link CopyObjectExtensions} have to fall back
+ * to a slower strategy because of the field. The profiling is opt in and does not affect the copy
+ * methods
+ */
+@UtilityClass
+public final class CopyProfiler
+{
+
+	/**
+	 * Profiles the fields and bean properties of the class of the given sample object over the
+	 * given number of copies
+	 *
+	 * @param <T>
+	 *            the generic type of the sample object
+	 * @param sample
+	 *            the sample object
+	 * @param iterations
+	 *            the number of profiled copies, the copies of each field are timed as one batch
+	 *            and divided by this number, so it should be large enough that a batch takes much
+	 *            longer than the resolution of {@link System#nanoTime()}
+	 * @return the profile with the ranked costs of the fields and properties
+	 * @throws IllegalAccessException
+	 *             if the caller does not have access to a field or property accessor method
+	 * @throws IntrospectionException
+	 *             is thrown if an exception occurred during introspection
+	 * @throws InvocationTargetException
+	 *             is thrown if a property accessor method throws an exception
+	 */
+	public static <T> CopyProfile profile(final @NonNull T sample, final int iterations)
+		throws IllegalAccessException, IntrospectionException, InvocationTargetException
+	{
+		if (iterations <= 0)
+		{
+			throw new IllegalArgumentException("iterations must be positive");
+		}
+		final Class<?> type = sample.getClass();
+		final List<Entry> entries = getEntries(type, sample);
+		final Object target = InstanceFactory.newInstance(type);
+		for (Entry entry : entries)
+		{
+			if (entry.accessible)
+			{
+				final long start = System.nanoTime();
+				for (int iteration = 0; iteration < iterations; iteration++)
+				{
+					entry.field.set(target, entry.field.get(sample));
+				}
+				entry.fieldNanos = System.nanoTime() - start;
+			}
+			if (entry.reader != null)
+			{
+				final long start = System.nanoTime();
+				for (int iteration = 0; iteration < iterations; iteration++)
+				{
+					entry.reader.invoke(sample);
+				}
+				entry.getterNanos = System.nanoTime() - start;
+			}
+		}
+		final List<CopyProfile.FieldCost> fieldCosts = new ArrayList<>();
+		for (Entry entry : entries)
+		{
+			final Object value = entry.accessible
+				? entry.field.get(sample)
+				: entry.reader != null ? entry.reader.invoke(sample) : null;
+			fieldCosts.add(new CopyProfile.FieldCost(entry.name, entry.valueType, entry.accessible,
+				entry.reader != null, entry.writable,
+				entry.accessible ? entry.fieldNanos / iterations : -1,
+				entry.reader != null ? entry.getterNanos / iterations : -1,
+				getSerializedBytes(value), DeepSizeEstimator.estimate(value)));
+		}
+		fieldCosts.sort(Comparator.comparingLong(CopyProfile.FieldCost::getTotalNanos)
+			.thenComparingLong(CopyProfile.FieldCost::getSerializedBytes).reversed());
+		return new CopyProfile(type, iterations, fieldCosts);
+	}
+
+	private static List<Entry> getEntries(final Class<?> type, final Object sample)
+		throws IntrospectionException
+	{
+		final Map<String, Entry> entries = new LinkedHashMap<>();
+		for (Field field : CopyRegistry.getFieldPlan(type))
+		{
+			if (!Modifier.isStatic(field.getModifiers()))
+			{
+				entries.putIfAbsent(field.getName(), new Entry(field.getName(), field.getType(),
+					field, field.canAccess(sample)));
+			}
+		}
+		final CopyRegistry.BeanProperties beanProperties = CopyRegistry.getBeanProperties(type);
+		final Map<String, Method> writeMethods = PropertyWriterIndex.getWriteMethods(type,
+			CopyObjectExtensions.OBJECT_MAPPER);
+		for (int i = 0; i < beanProperties.readableNames.length; i++)
+		{
+			final Method reader = beanProperties.readers[i];
+			entries.computeIfAbsent(beanProperties.readableNames[i],
+				name -> new Entry(name, reader.getReturnType(), null, false)).reader = reader;
+		}
+		for (Entry entry : entries.values())
+		{
+			entry.writable = writeMethods.containsKey(entry.name);
+		}
+		return new ArrayList<>(entries.values());
+	}
+
+	private static long getSerializedBytes(final Object value)
+	{
+		final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+		try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream))
+		{
+			objectOutputStream.flush();
+			final int headerSize = byteArrayOutputStream.size();
+			objectOutputStream.writeObject(value);
+			objectOutputStream.flush();
+			return byteArrayOutputStream.size() - headerSize;
+		}
+		catch (IOException e)
+		{
+			return -1;
+		}
+	}
+
+	/**
+	 * The class {@link Entry} accumulates the measurements of one field or property
+	 */
+	private static final class Entry
+	{
+
+		private final String name;
+		private final Class<?> valueType;
+		private final Field field;
+		private final boolean accessible;
+		private Method reader;
+		private boolean writable;
+		private long fieldNanos;
+		private long getterNanos;
+
+		private Entry(final String name, final Class<?> valueType, final Field field,
+			final boolean accessible)
+		{
+			this.name = name;
+			this.valueType = valueType;
+			this.field = field;
+			this.accessible = accessible;
+		}
+
+	}
+
+}
@@ -0,0 +1,431 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import io.github.astrapi69.reflection.InstanceFactory;
+import io.github.astrapi69.reflection.ReflectionExtensions;
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+
+/**
+ * The class {@link CopyRegistry} caches the plans that the copy methods of the class
+ * {@link CopyObjectExtensions} need for each class. The plans are created on the first copy of a
+ * class or eagerly with the warm up methods, so the first copies after a start of the application
+ * do not pay for the introspection. The warm up methods also create the plans that other classes
+ * cache, like the resolved setters of the map converter, the snapshot plans and the layouts of the
+ * size estimation
+ */
+@UtilityClass
+public final class CopyRegistry
+{
+
+	private static final ClassValue<Field[]> FIELD_PLANS = new ClassValue<>()
+	{
+		@Override
+		protected Field[] computeValue(final Class<?> type)
+		{
+			final Field[] fields = ReflectionExtensions.getAllDeclaredFields(type);
+			for (Field field : fields)
+			{
+				field.trySetAccessible();
+			}
+			return fields;
+		}
+	};
+
+	private static final ClassValue<Boolean> FIELD_PLANS_ACCESSIBLE = new ClassValue<>()
+	{
+		@Override
+		protected Boolean computeValue(final Class<?> type)
+		{
+			for (Field field : getFieldPlan(type))
+			{
+				if (!Modifier.isStatic(field.getModifiers()) && !field.trySetAccessible())
+				{
+					return false;
+				}
+			}
+			return true;
+		}
+	};
+
+	private static final ClassValue<BeanProperties> BEAN_PROPERTIES = new ClassValue<>()
+	{
+		@Override
+		protected BeanProperties computeValue(final Class<?> type)
+		{
+			try
+			{
+				return new BeanProperties(Introspector.getBeanInfo(type), null);
+			}
+			catch (IntrospectionException e)
+			{
+				return new BeanProperties(null, e);
+			}
+		}
+	};
+
+	private static final ClassValue<MapToObjectConverter<?>> MAP_TO_OBJECT_CONVERTERS = new ClassValue<>()
+	{
+		@Override
+		protected MapToObjectConverter<?> computeValue(final Class<?> type)
+		{
+			return new MapToObjectConverter<>(type, CopyObjectExtensions.OBJECT_MAPPER);
+		}
+	};
+
+	/**
+	 * Creates and caches all plans of the given classes
+	 *
+	 * @param classes
+	 *            the classes
+	 * @return the list with the result of each class
+	 */
+	public static List<WarmUpResult> warmUp(final @NonNull Class<?>... classes)
+	{
+		return warmUp(0, classes);
+	}
+
+	/**
+	 * Creates and caches all plans of the given classes and copies a new instance of each class
+	 * the given number of times with each applicable {@link CopyStrategy}, so the just in time
+	 * compiler can compile the copy methods
+	 *
+	 * @param iterations
+	 *            the number of copies for each strategy
+	 * @param classes
+	 *            the classes
+	 * @return the list with the result of each class
+	 */
+	public static List<WarmUpResult> warmUp(final int iterations,
+		final @NonNull Class<?>... classes)
+	{
+		final List<WarmUpResult> results = new ArrayList<>(classes.length);
+		for (Class<?> type : classes)
+		{
+			results.add(warmUp(type, iterations));
+		}
+		return results;
+	}
+
+	/**
+	 * Creates and caches all plans of the concrete classes that are found in the given package
+	 * and its sub packages on the class path, see {@link #warmUp(int, Class...)}
+	 *
+	 * @param packageName
+	 *            the name of the package
+	 * @param iterations
+	 *            the number of copies for each strategy
+	 * @return the list with the result of each class
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static List<WarmUpResult> warmUpPackage(final @NonNull String packageName,
+		final int iterations) throws IOException
+	{
+		final List<Class<?>> classes = new ArrayList<>();
+		final ClassLoader classLoader = getClassLoader();
+		for (String className : scanClassNames(packageName, classLoader))
+		{
+			try
+			{
+				final Class<?> type = Class.forName(className, false, classLoader);
+				final int modifiers = type.getModifiers();
+				if (!type.isInterface() && !type.isEnum() && !type.isAnnotation()
+					&& !type.isSynthetic() && !Modifier.isAbstract(modifiers))
+				{
+					classes.add(type);
+				}
+			}
+			catch (ClassNotFoundException | LinkageError e)
+			{
+				// classes that can not be loaded are not warmed up
+			}
+		}
+		return warmUp(iterations, classes.toArray(new Class<?>[0]));
+	}
+
+	private static WarmUpResult warmUp(final Class<?> type, final int iterations)
+	{
+		final long start = System.nanoTime();
+		Throwable failure = null;
+		try
+		{
+			getFieldPlan(type);
+			getBeanProperties(type);
+			getMapToObjectConverter(type);
+			CopyObjectExtensions.OBJECT_MAPPER.readerFor(type);
+			DeepSizeEstimator.warmUp(type);
+			if (isFieldPlanAccessible(type))
+			{
+				SnapshotCopier.warmUp(type);
+			}
+			if (0 < iterations)
+			{
+				failure = exercise(type, iterations);
+			}
+		}
+		catch (Exception | LinkageError e)
+		{
+			failure = e;
+		}
+		return new WarmUpResult(type, Duration.ofNanos(System.nanoTime() - start), failure);
+	}
+
+	private static Throwable exercise(final Class<?> type, final int iterations)
+	{
+		final Object sample = InstanceFactory.newInstance(type);
+		if (sample == null)
+		{
+			return new InstantiationException("Could not create an instance of " + type.getName());
+		}
+		Throwable failure = null;
+		for (CopyStrategy strategy : CopyStrategy.values())
+		{
+			if (!strategy.isApplicable(type))
+			{
+				continue;
+			}
+			try
+			{
+				for (int i = 0; i < iterations; i++)
+				{
+					strategy.copy(sample);
+				}
+			}
+			catch (Exception e)
+			{
+				if (failure == null)
+				{
+					failure = e;
+				}
+			}
+		}
+		return failure;
+	}
+
+	private static ClassLoader getClassLoader()
+	{
+		final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		return classLoader != null ? classLoader : CopyRegistry.class.getClassLoader();
+	}
+
+	private static TreeSet<String> scanClassNames(final String packageName,
+		final ClassLoader classLoader) throws IOException
+	{
+		final TreeSet<String> classNames = new TreeSet<>();
+		final String path = packageName.replace('.', '/');
+		final Enumeration<URL> resources = classLoader.getResources(path);
+		while (resources.hasMoreElements())
+		{
+			final URL resource = resources.nextElement();
+			if ("jar".equals(resource.getProtocol()))
+			{
+				final JarURLConnection connection = (JarURLConnection)resource.openConnection();
+				connection.setUseCaches(false);
+				try (JarFile jarFile = connection.getJarFile())
+				{
+					for (JarEntry entry : Collections.list(jarFile.entries()))
+					{
+						if (entry.getName().startsWith(path + "/"))
+						{
+							addClassName(entry.getName(), classNames);
+						}
+					}
+				}
+			}
+			else if ("file".equals(resource.getProtocol()))
+			{
+				try
+				{
+					scanDirectory(new File(resource.toURI()), path, classNames);
+				}
+				catch (URISyntaxException e)
+				{
+					throw new IOException("Could not resolve the resource " + resource, e);
+				}
+			}
+		}
+		return classNames;
+	}
+
+	private static void scanDirectory(final File directory, final String path,
+		final TreeSet<String> classNames)
+	{
+		final File[] files = directory.listFiles();
+		if (files == null)
+		{
+			return;
+		}
+		for (File file : files)
+		{
+			if (file.isDirectory())
+			{
+				scanDirectory(file, path + "/" + file.getName(), classNames);
+			}
+			else
+			{
+				addClassName(path + "/" + file.getName(), classNames);
+			}
+		}
+	}
+
+	private static void addClassName(final String resourceName, final TreeSet<String> classNames)
+	{
+		if (resourceName.endsWith(".class") && !resourceName.contains("$")
+			&& !resourceName.endsWith("module-info.class")
+			&& !resourceName.endsWith("package-info.class"))
+		{
+			classNames.add(resourceName.substring(0, resourceName.length() - ".class".length())
+				.replace('/', '.'));
+		}
+	}
+
+	/**
+	 * Gets the cached fields of the given class and all super classes. The fields are already
+	 * accessible, if the module of the given class permits it
+	 *
+	 * @param type
+	 *            the class
+	 * @return the cached fields, the returned array must not be modified
+	 */
+	static Field[] getFieldPlan(final Class<?> type)
+	{
+		return FIELD_PLANS.get(type);
+	}
+
+	/**
+	 * Checks if all instance fields of the field plan of the given class are accessible
+	 *
+	 * @param type
+	 *            the class
+	 * @return true if all instance fields are accessible otherwise false
+	 */
+	static boolean isFieldPlanAccessible(final Class<?> type)
+	{
+		return FIELD_PLANS_ACCESSIBLE.get(type);
+	}
+
+	/**
+	 * Gets the cached bean properties of the given class
+	 *
+	 * @param type
+	 *            the class
+	 * @return the cached bean properties
+	 * @throws IntrospectionException
+	 *             is thrown if an exception occurred during introspection
+	 */
+	static BeanProperties getBeanProperties(final Class<?> type) throws IntrospectionException
+	{
+		final BeanProperties beanProperties = BEAN_PROPERTIES.get(type);
+		if (beanProperties.exception != null)
+		{
+			throw beanProperties.exception;
+		}
+		return beanProperties;
+	}
+
+	/**
+	 * Gets the cached converter for copy maps to objects of the given class
+	 *
+	 * @param <T>
+	 *            the generic type of the target object
+	 * @param type
+	 *            the class
+	 * @return the cached converter
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> MapToObjectConverter<T> getMapToObjectConverter(final Class<T> type)
+	{
+		return (MapToObjectConverter<T>)MAP_TO_OBJECT_CONVERTERS.get(type);
+	}
+
+	/**
+	 * The class {@link BeanProperties} holds the read and the write methods of the bean
+	 * properties of a class
+	 */
+	static final class BeanProperties
+	{
+
+		/** The names of the readable properties */
+		final String[] readableNames;
+
+		/** The read methods in the order of the readable names */
+		final Method[] readers;
+
+		/** The write methods with the property name as key */
+		final Map<String, Method> writers;
+
+		private final IntrospectionException exception;
+
+		private BeanProperties(final BeanInfo beanInfo, final IntrospectionException exception)
+		{
+			this.exception = exception;
+			final List<String> names = new ArrayList<>();
+			final List<Method> readMethods = new ArrayList<>();
+			final Map<String, Method> writeMethods = new HashMap<>();
+			if (beanInfo != null)
+			{
+				for (PropertyDescriptor propertyDescriptor : beanInfo.getPropertyDescriptors())
+				{
+					if (propertyDescriptor.getReadMethod() != null)
+					{
+						names.add(propertyDescriptor.getName());
+						readMethods.add(propertyDescriptor.getReadMethod());
+					}
+					if (propertyDescriptor.getWriteMethod() != null)
+					{
+						writeMethods.put(propertyDescriptor.getName(),
+							propertyDescriptor.getWriteMethod());
+					}
+				}
+			}
+			this.readableNames = names.toArray(new String[0]);
+			this.readers = readMethods.toArray(new Method[0]);
+			this.writers = Collections.unmodifiableMap(writeMethods);
+		}
+
+	}
+
+}
@@ -0,0 +1,147 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import java.beans.IntrospectionException;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.Serializable;
+import java.lang.reflect.InvocationTargetException;
+
+import lombok.NonNull;
+
+/**
+ * The enum {@link CopyStrategy} provides the strategies of the class {@link CopyObjectExtensions}
+ * for create a copy of an original object
+ */
+public enum CopyStrategy
+{
+
+	/**
+	 * Copies the fields of the original object to a new instance with
+	 * {@link CopyObjectExtensions#copyObject(Object, String...)}
+	 */
+	SHALLOW(false)
+	{
+		@Override
+		public <T> T copy(final @NonNull T original) throws IllegalAccessException
+		{
+			return CopyObjectExtensions.copyObject(original);
+		}
+	},
+
+	/**
+	 * Creates a deep copy of the original object with
+	 * {@link CopyObjectExtensions#deepCopyObject(Object)}
+	 */
+	DEEP(true)
+	{
+		@Override
+		public <T> T copy(final @NonNull T original) throws IllegalAccessException
+		{
+			return CopyObjectExtensions.deepCopyObject(original);
+		}
+	},
+
+	/**
+	 * Copies the properties of the original object to a map and the map to a new instance like
+	 * {@link CopyObjectExtensions#copyToMap(Object, String...)} and
+	 * {@link CopyObjectExtensions#copyMapToObject(java.util.Map, Class)}, the copy is recorded
+	 * once with the name copyWithMap
+	 */
+	MAP(true)
+	{
+		@Override
+		public <T> T copy(final @NonNull T original)
+			throws IntrospectionException, IllegalAccessException, InvocationTargetException
+		{
+			return CopyObjectExtensions.copyWithMap(original);
+		}
+	},
+
+	/**
+	 * Copies the original object with java serialization with
+	 * {@link CopyObjectExtensions#copySerializedObject(Serializable)}
+	 */
+	SERIALIZED(true)
+	{
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T> T copy(final @NonNull T original) throws IOException, ClassNotFoundException
+		{
+			if (!(original instanceof Serializable))
+			{
+				throw new NotSerializableException(original.getClass().getName());
+			}
+			return (T)CopyObjectExtensions.copySerializedObject((Serializable)original);
+		}
+
+		@Override
+		public boolean isApplicable(final @NonNull Class<?> type)
+		{
+			return Serializable.class.isAssignableFrom(type);
+		}
+	};
+
+	private final boolean deep;
+
+	CopyStrategy(final boolean deep)
+	{
+		this.deep = deep;
+	}
+
+	/**
+	 * Checks if this strategy creates deep copies, so the copy does not share mutable referenced
+	 * objects with the original object
+	 *
+	 * @return true if this strategy creates deep copies otherwise false
+	 */
+	public boolean isDeep()
+	{
+		return deep;
+	}
+
+	/**
+	 * Copy the given original object with this strategy
+	 *
+	 * @param <T>
+	 *            the generic type of the given object
+	 * @param original
+	 *            the original object
+	 * @return a copy of the given original object
+	 * @throws Exception
+	 *             is thrown if the copy with this strategy fails
+	 */
+	public abstract <T> T copy(T original) throws Exception;
+
+	/**
+	 * Checks if this strategy can copy objects of the given class
+	 *
+	 * @param type
+	 *            the class object
+	 * @return true if this strategy can copy objects of the given class otherwise false
+	 */
+	public boolean isApplicable(final @NonNull Class<?> type)
+	{
+		return true;
+	}
+
+}
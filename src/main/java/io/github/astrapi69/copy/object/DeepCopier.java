@@ -0,0 +1,439 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.astrapi69.reflection.InstanceFactory;
+
+/**
+ * The class {@link DeepCopier} creates a deep copy of an object graph with reflection over the
+ * field plans of the {@link CopyRegistry}. Every object is copied once, so shared references and
+ * cycles are preserved in the copy. The graph is walked with a work queue like in the
+ * {@link DeepSizeEstimator}, so a long chain of references does not overflow the stack: a new copy
+ * is created empty and registered, and its fields or elements are filled when its original is
+ * taken from the queue. Hash and tree based collections and maps are filled last, so their
+ * elements are placed by their final hash code and order. Enum constants, class objects and
+ * immutable values are shared with the original or replaced with their canonical instance if the
+ * options have a {@link ValueCanonicalizer}. Arrays, collections and maps are copied with the
+ * {@link ContainerCopier}. Objects of classes with fields that can not be accessed, like the
+ * internal classes of the JDK, are copied with serialization: the serialized form of such an
+ * object is written with the objects it refers to replaced by their complete copies from this
+ * copier, so these objects are counted in the same budget and their references are shared with
+ * the rest of the copy. Only if such an object is reached again from the objects it refers to, it
+ * is copied with a serialization of its own and the references in that part are not shared.
+ * Instances are used for one copy only
+ */
+final class DeepCopier
+{
+
+	private final Map<Object, Object> copies = new IdentityHashMap<>();
+	private final Set<Object> encapsulated = Collections.newSetFromMap(new IdentityHashMap<>());
+	private final Deque<Object> pending = new ArrayDeque<>();
+	private final Deque<Insertion> insertions = new ArrayDeque<>();
+	private final CopyOptions options;
+	private final ValueCanonicalizer canonicalizer;
+	private final CopyBudget budget;
+
+	/**
+	 * Instantiates a new {@link DeepCopier}
+	 *
+	 * @param options
+	 *            the copy options
+	 */
+	DeepCopier(final CopyOptions options)
+	{
+		this.options = options;
+		this.canonicalizer = options.getCanonicalizer();
+		final CopyBudget copyBudget = new CopyBudget(options);
+		this.budget = copyBudget.isLimited() ? copyBudget : null;
+	}
+
+	/**
+	 * Creates a deep copy of the given object
+	 *
+	 * @param original
+	 *            the original object
+	 * @return the deep copy of the given object
+	 * @throws IllegalAccessException
+	 *             if the caller does not have access to a field
+	 * @throws CopyLimitExceededException
+	 *             is thrown if the copy exceeds the maximum number of bytes or objects
+	 */
+	Object copy(final Object original) throws IllegalAccessException
+	{
+		final Object copy = register(original);
+		while (!pending.isEmpty())
+		{
+			fill(pending.poll());
+		}
+		while (!insertions.isEmpty())
+		{
+			insertions.pop().insert();
+		}
+		return copy;
+	}
+
+	/**
+	 * Gets the copy of the given object. A new copy is created empty and its original is queued
+	 * for fill the fields or elements of the copy
+	 *
+	 * @param original
+	 *            the original object
+	 * @return the copy of the given object, it is filled when the queue is processed
+	 * @throws IllegalAccessException
+	 *             if the caller does not have access to a field
+	 */
+	private Object register(final Object original) throws IllegalAccessException
+	{
+		if (original == null || DeepSizeEstimator.isShared(original))
+		{
+			return original;
+		}
+		final Class<?> type = original.getClass();
+		if (canonicalizer != null && canonicalizer.isValueType(type))
+		{
+			return canonicalizer.canonicalize(original);
+		}
+		if (ValueCanonicalizer.isImmutableValueType(type))
+		{
+			return original;
+		}
+		final Object existing = copies.get(original);
+		if (existing != null)
+		{
+			return existing;
+		}
+		if (budget != null)
+		{
+			budget.addObject(DeepSizeEstimator.estimateShallow(original));
+		}
+		final Object copy;
+		if (ContainerCopier.supports(type))
+		{
+			copy = ContainerCopier.newEmpty(original);
+		}
+		else if (CopyRegistry.isFieldPlanAccessible(type))
+		{
+			copy = InstanceFactory.newInstance(type);
+		}
+		else
+		{
+			return copyEncapsulated(original);
+		}
+		copies.put(original, copy);
+		pending.add(original);
+		return copy;
+	}
+
+	private void fill(final Object original) throws IllegalAccessException
+	{
+		final Object copy = copies.get(original);
+		try
+		{
+			fill(original, copy);
+		}
+		catch (EncapsulatedCycle cycle)
+		{
+			// the copy is filled again after the encapsulated object is copied on its own
+			if (copy instanceof Collection)
+			{
+				((Collection<?>)copy).clear();
+			}
+			else if (copy instanceof Map)
+			{
+				((Map<?, ?>)copy).clear();
+			}
+			pending.addFirst(original);
+			throw cycle;
+		}
+	}
+
+	private void fill(final Object original, final Object copy) throws IllegalAccessException
+	{
+		final Class<?> type = original.getClass();
+		if (!ContainerCopier.supports(type))
+		{
+			for (Field field : CopyRegistry.getFieldPlan(type))
+			{
+				if (Modifier.isStatic(field.getModifiers()))
+				{
+					continue;
+				}
+				final Object value = field.get(original);
+				field.set(copy, field.getType().isPrimitive() ? value : register(value));
+			}
+		}
+		else if (!ContainerCopier.placesElements(type))
+		{
+			ContainerCopier.fill(original, copy, this::register);
+		}
+		else if (original instanceof Map)
+		{
+			final Map<?, ?> map = (Map<?, ?>)original;
+			final Object[] elements = new Object[2 * map.size()];
+			int index = 0;
+			for (Map.Entry<?, ?> entry : map.entrySet())
+			{
+				elements[index++] = register(entry.getKey());
+				elements[index++] = register(entry.getValue());
+			}
+			insertions.push(new Insertion(copy, elements));
+		}
+		else
+		{
+			final Collection<?> collection = (Collection<?>)original;
+			final Object[] elements = new Object[collection.size()];
+			int index = 0;
+			for (Object element : collection)
+			{
+				elements[index++] = register(element);
+			}
+			insertions.push(new Insertion(copy, elements));
+		}
+	}
+
+	private Object copyEncapsulated(final Object original) throws IllegalAccessException
+	{
+		if (!(original instanceof Serializable))
+		{
+			throw new IllegalArgumentException("The fields of the class "
+				+ original.getClass().getName()
+				+ " can not be accessed and the class is not serializable");
+		}
+		if (!encapsulated.add(original))
+		{
+			throw new EncapsulatedCycle(original);
+		}
+		Object copy;
+		try
+		{
+			copy = copySerialized(original, true);
+		}
+		catch (EncapsulatedCycle cycle)
+		{
+			if (cycle.original != original)
+			{
+				throw cycle;
+			}
+			copy = copySerialized(original, false);
+		}
+		finally
+		{
+			encapsulated.remove(original);
+		}
+		copies.put(original, copy);
+		return copy;
+	}
+
+	private Object copySerialized(final Object original, final boolean resolveReferences)
+		throws IllegalAccessException
+	{
+		final List<Object> references = new ArrayList<>();
+		try
+		{
+			final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+			try (ObjectOutputStream objectOutputStream = resolveReferences
+				? new ReferenceOutputStream(byteArrayOutputStream, references)
+				: budget != null && budget.isObjectsLimited()
+					? new CopyObjectOutputStream(byteArrayOutputStream, budget)
+					: new ObjectOutputStream(byteArrayOutputStream))
+			{
+				objectOutputStream.writeObject(original);
+			}
+			try (ObjectInputStream objectInputStream = new ReferenceInputStream(
+				new ByteArrayInputStream(byteArrayOutputStream.toByteArray()), references))
+			{
+				return objectInputStream.readObject();
+			}
+		}
+		catch (IOException | ClassNotFoundException e)
+		{
+			if (e.getCause() instanceof IllegalAccessException)
+			{
+				throw (IllegalAccessException)e.getCause();
+			}
+			throw new IllegalArgumentException(
+				"Could not copy the object of the class " + original.getClass().getName(), e);
+		}
+	}
+
+	/**
+	 * The class {@link ReferenceOutputStream} writes the root object with serialization and
+	 * replaces every other object with a {@link Reference} to the copy of the {@link DeepCopier},
+	 * so the referenced objects are counted in the budget and shared with the rest of the copy
+	 */
+	private final class ReferenceOutputStream extends ObjectOutputStream
+	{
+
+		private final List<Object> references;
+		private boolean rootWritten;
+
+		ReferenceOutputStream(final OutputStream out, final List<Object> references)
+			throws IOException
+		{
+			super(out);
+			this.references = references;
+			enableReplaceObject(true);
+		}
+
+		@Override
+		protected Object replaceObject(final Object object) throws IOException
+		{
+			if (!rootWritten)
+			{
+				rootWritten = true;
+				return object;
+			}
+			try
+			{
+				references.add(copy(object));
+			}
+			catch (IllegalAccessException e)
+			{
+				throw new IOException(e);
+			}
+			return new Reference(references.size() - 1);
+		}
+
+	}
+
+	/**
+	 * The class {@link ReferenceInputStream} resolves every {@link Reference} to the copy it
+	 * refers to and canonicalizes the other objects with the options of the copy
+	 */
+	private final class ReferenceInputStream extends ObjectInputStream
+	{
+
+		private final List<Object> references;
+
+		ReferenceInputStream(final InputStream in, final List<Object> references)
+			throws IOException
+		{
+			super(in);
+			this.references = references;
+			enableResolveObject(true);
+		}
+
+		@Override
+		protected Object resolveObject(final Object object) throws IOException
+		{
+			if (object instanceof Reference)
+			{
+				return references.get(((Reference)object).index);
+			}
+			return canonicalizer != null ? canonicalizer.canonicalize(object) : object;
+		}
+
+	}
+
+	/**
+	 * The class {@link Insertion} holds the copied elements of a hash or tree based collection or
+	 * map that are added after all queued copies are filled, so the elements have their final hash
+	 * code and order when they are added
+	 */
+	private static final class Insertion
+	{
+
+		private final Object container;
+		private final Object[] elements;
+
+		Insertion(final Object container, final Object[] elements)
+		{
+			this.container = container;
+			this.elements = elements;
+		}
+
+		@SuppressWarnings("unchecked")
+		void insert()
+		{
+			if (container instanceof Map)
+			{
+				final Map<Object, Object> map = (Map<Object, Object>)container;
+				for (int i = 0; i < elements.length; i += 2)
+				{
+					map.put(elements[i], elements[i + 1]);
+				}
+			}
+			else
+			{
+				Collections.addAll((Collection<Object>)container, elements);
+			}
+		}
+
+	}
+
+	/**
+	 * The class {@link Reference} stands for an object that is copied by the {@link DeepCopier}
+	 * itself in the serialized form of an encapsulated object
+	 */
+	private static final class Reference implements Serializable
+	{
+
+		private static final long serialVersionUID = 1L;
+
+		private final int index;
+
+		Reference(final int index)
+		{
+			this.index = index;
+		}
+
+	}
+
+	/**
+	 * The class {@link EncapsulatedCycle} signals that an encapsulated object is reached again
+	 * while its own serialized form is written
+	 */
+	private static final class EncapsulatedCycle extends RuntimeException
+	{
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient Object original;
+
+		EncapsulatedCycle(final Object original)
+		{
+			super(null, null, false, false);
+			this.original = original;
+		}
+
+	}
+
+}
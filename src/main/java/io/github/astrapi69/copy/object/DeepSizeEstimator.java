@@ -0,0 +1,322 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * The class {@link DeepSizeEstimator} estimates the number of bytes that an object graph occupies
+ * on the heap. The estimation assumes the object layout of a 64 bit JVM with compressed
+ * references: a 12 byte object header, a 16 byte array header, 4 byte references and an
+ * alignment of 8 bytes. Enum constants and class objects are shared and not counted. The internal
+ * storage of JDK collections, maps and strings can not be read with strong encapsulation, so it is
+ * approximated from their size
+ */
+@UtilityClass
+final class DeepSizeEstimator
+{
+
+	/** The size of an object header */
+	static final int OBJECT_HEADER = 12;
+
+	/** The size of an array header */
+	static final int ARRAY_HEADER = 16;
+
+	/** The size of a reference */
+	static final int REFERENCE = 4;
+
+	/** The approximated size of an entry of a hash or tree based collection */
+	private static final int ENTRY = 36;
+
+	/** The approximated size of a node of a linked list */
+	private static final int NODE = 24;
+
+	private static final ClassValue<ClassLayout> LAYOUTS = new ClassValue<>()
+	{
+		@Override
+		protected ClassLayout computeValue(final Class<?> type)
+		{
+			return new ClassLayout(type);
+		}
+	};
+
+	/**
+	 * Creates and caches the layout of the given class
+	 *
+	 * @param type
+	 *            the class
+	 */
+	static void warmUp(final Class<?> type)
+	{
+		LAYOUTS.get(type);
+	}
+
+	/**
+	 * Estimates the number of bytes of the given object and all objects that are reachable from it
+	 *
+	 * @param root
+	 *            the root object
+	 * @return the estimated number of bytes
+	 */
+	static long estimate(final Object root)
+	{
+		final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		final Deque<Object> pending = new ArrayDeque<>();
+		long size = 0;
+		if (root != null)
+		{
+			pending.push(root);
+		}
+		while (!pending.isEmpty())
+		{
+			final Object object = pending.pop();
+			if (isShared(object) || !visited.add(object))
+			{
+				continue;
+			}
+			size += estimateShallow(object);
+			for (Object child : getChildren(object))
+			{
+				if (child != null)
+				{
+					pending.push(child);
+				}
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Checks if the given object is a shared constant that is never copied
+	 *
+	 * @param object
+	 *            the object
+	 * @return true if the given object is an enum constant or a class object otherwise false
+	 */
+	static boolean isShared(final Object object)
+	{
+		return object instanceof Enum || object instanceof Class;
+	}
+
+	/**
+	 * Estimates the number of bytes of the given object without the referenced objects, except the
+	 * internal storage of strings, collections and maps
+	 *
+	 * @param object
+	 *            the object
+	 * @return the estimated number of bytes
+	 */
+	static long estimateShallow(final Object object)
+	{
+		final Class<?> type = object.getClass();
+		if (type.isArray())
+		{
+			return align(ARRAY_HEADER + (long)Array.getLength(object)
+				* sizeOf(type.getComponentType()));
+		}
+		long size = LAYOUTS.get(type).shallowSize;
+		if (object instanceof String)
+		{
+			final String string = (String)object;
+			boolean latin1 = true;
+			for (int i = 0; i < string.length() && latin1; i++)
+			{
+				latin1 = string.charAt(i) <= 0xFF;
+			}
+			size += align(ARRAY_HEADER + (long)string.length() * (latin1 ? 1 : 2));
+		}
+		else if (object instanceof Map && isEncapsulated(type))
+		{
+			final int entries = ((Map<?, ?>)object).size();
+			size += align(ARRAY_HEADER + (long)tableCapacity(entries) * REFERENCE)
+				+ (long)entries * ENTRY;
+		}
+		else if (object instanceof LinkedList)
+		{
+			size += (long)((Collection<?>)object).size() * NODE;
+		}
+		else if (object instanceof List && isEncapsulated(type))
+		{
+			size += align(ARRAY_HEADER + (long)((List<?>)object).size() * REFERENCE);
+		}
+		else if (object instanceof Collection && isEncapsulated(type))
+		{
+			final int entries = ((Collection<?>)object).size();
+			size += align(ARRAY_HEADER + (long)tableCapacity(entries) * REFERENCE)
+				+ (long)entries * ENTRY;
+		}
+		return size;
+	}
+
+	private static List<Object> getChildren(final Object object)
+	{
+		final Class<?> type = object.getClass();
+		if (type.isArray())
+		{
+			if (type.getComponentType().isPrimitive())
+			{
+				return Collections.emptyList();
+			}
+			final Object[] array = (Object[])object;
+			final List<Object> children = new ArrayList<>(array.length);
+			Collections.addAll(children, array);
+			return children;
+		}
+		if (object instanceof String)
+		{
+			return Collections.emptyList();
+		}
+		if (object instanceof Map && isEncapsulated(type))
+		{
+			final Map<?, ?> map = (Map<?, ?>)object;
+			final List<Object> children = new ArrayList<>(map.size() * 2);
+			for (Map.Entry<?, ?> entry : map.entrySet())
+			{
+				children.add(entry.getKey());
+				children.add(entry.getValue());
+			}
+			return children;
+		}
+		if (object instanceof Collection && isEncapsulated(type))
+		{
+			return new ArrayList<>((Collection<?>)object);
+		}
+		final Field[] referenceFields = LAYOUTS.get(type).referenceFields;
+		final List<Object> children = new ArrayList<>(referenceFields.length);
+		for (Field field : referenceFields)
+		{
+			try
+			{
+				children.add(field.get(object));
+			}
+			catch (IllegalAccessException e)
+			{
+				// fields that can not be read are not estimated
+			}
+		}
+		return children;
+	}
+
+	private static boolean isEncapsulated(final Class<?> type)
+	{
+		return !LAYOUTS.get(type).accessible;
+	}
+
+	private static int tableCapacity(final int entries)
+	{
+		int capacity = 16;
+		while (capacity * 0.75 < entries)
+		{
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+
+	/**
+	 * Gets the number of bytes of a field or an array element of the given type
+	 *
+	 * @param type
+	 *            the type
+	 * @return the number of bytes
+	 */
+	static int sizeOf(final Class<?> type)
+	{
+		if (type == long.class || type == double.class)
+		{
+			return 8;
+		}
+		if (type == int.class || type == float.class)
+		{
+			return 4;
+		}
+		if (type == short.class || type == char.class)
+		{
+			return 2;
+		}
+		if (type == byte.class || type == boolean.class)
+		{
+			return 1;
+		}
+		return REFERENCE;
+	}
+
+	/**
+	 * Aligns the given size to 8 bytes
+	 *
+	 * @param size
+	 *            the size
+	 * @return the aligned size
+	 */
+	static long align(final long size)
+	{
+		return (size + 7) & ~7L;
+	}
+
+	/**
+	 * The class {@link ClassLayout} holds the estimated size of the instances of a class and the
+	 * fields that reference other objects. The fields are taken from the field plan of the
+	 * {@link CopyRegistry}
+	 */
+	private static final class ClassLayout
+	{
+
+		private final long shallowSize;
+		private final Field[] referenceFields;
+		private final boolean accessible;
+
+		private ClassLayout(final Class<?> type)
+		{
+			long size = OBJECT_HEADER;
+			final List<Field> fields = new ArrayList<>();
+			for (Field field : CopyRegistry.getFieldPlan(type))
+			{
+				if (Modifier.isStatic(field.getModifiers()))
+				{
+					continue;
+				}
+				size += sizeOf(field.getType());
+				if (!field.getType().isPrimitive() && field.trySetAccessible())
+				{
+					fields.add(field);
+				}
+			}
+			this.shallowSize = align(size);
+			this.referenceFields = fields.toArray(new Field[0]);
+			this.accessible = CopyRegistry.isFieldPlanAccessible(type);
+		}
+
+	}
+
+}
@@ -0,0 +1,205 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.NonNull;
+
+/**
+ * The class {@link HistogramCopyMetrics} is an in memory implementation of {@link CopyMetrics}
+ * that counts the copies and records a latency histogram for each class and strategy. The
+ * histogram has one bucket for each power of two nanoseconds
+ */
+public class HistogramCopyMetrics implements CopyMetrics
+{
+
+	private final Map<Class<?>, Map<String, Statistics>> statistics = new ConcurrentHashMap<>();
+
+	@Override
+	public void record(final Class<?> type, final String strategy, final int fieldCount,
+		final long bytes, final long durationNanos)
+	{
+		statistics.computeIfAbsent(type, key -> new ConcurrentHashMap<>())
+			.computeIfAbsent(strategy, key -> new Statistics()).record(bytes, durationNanos);
+	}
+
+	@Override
+	public void recordFailure(final Class<?> type, final String strategy,
+		final Throwable failure, final long durationNanos)
+	{
+		statistics.computeIfAbsent(type, key -> new ConcurrentHashMap<>())
+			.computeIfAbsent(strategy, key -> new Statistics()).recordFailure();
+	}
+
+	/**
+	 * Gets the statistics of the given class and strategy
+	 *
+	 * @param type
+	 *            the class of the copied objects
+	 * @param strategy
+	 *            the name of the copy method
+	 * @return the statistics or null if nothing was recorded
+	 */
+	public Statistics getStatistics(final @NonNull Class<?> type, final @NonNull String strategy)
+	{
+		final Map<String, Statistics> strategies = statistics.get(type);
+		return strategies == null ? null : strategies.get(strategy);
+	}
+
+	/**
+	 * Gets the statistics of all recorded classes and strategies
+	 *
+	 * @return a map with the statistics for each class and strategy
+	 */
+	public Map<Class<?>, Map<String, Statistics>> getStatistics()
+	{
+		final Map<Class<?>, Map<String, Statistics>> copy = new HashMap<>();
+		statistics.forEach((type, strategies) -> copy.put(type, new HashMap<>(strategies)));
+		return copy;
+	}
+
+	/**
+	 * Removes all recorded statistics
+	 */
+	public void reset()
+	{
+		statistics.clear();
+	}
+
+	/**
+	 * The class {@link Statistics} holds the counters and the latency histogram of one class and
+	 * strategy
+	 */
+	public static final class Statistics
+	{
+
+		private final LongAdder count = new LongAdder();
+		private final LongAdder failureCount = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final LongAdder totalBytes = new LongAdder();
+		private final AtomicLongArray histogram = new AtomicLongArray(Long.SIZE);
+
+		void record(final long bytes, final long durationNanos)
+		{
+			count.increment();
+			totalNanos.add(durationNanos);
+			totalBytes.add(bytes);
+			histogram.incrementAndGet(Long.SIZE - 1 - Long.numberOfLeadingZeros(durationNanos | 1));
+		}
+
+		void recordFailure()
+		{
+			failureCount.increment();
+		}
+
+		/**
+		 * Gets the number of recorded copies
+		 *
+		 * @return the number of recorded copies
+		 */
+		public long getCount()
+		{
+			return count.sum();
+		}
+
+		/**
+		 * Gets the number of recorded copies that failed with an exception, they are not contained
+		 * in the other counters and the histogram
+		 *
+		 * @return the number of failed copies
+		 */
+		public long getFailureCount()
+		{
+			return failureCount.sum();
+		}
+
+		/**
+		 * Gets the sum of the durations of all recorded copies
+		 *
+		 * @return the sum of the durations in nanoseconds
+		 */
+		public long getTotalNanos()
+		{
+			return totalNanos.sum();
+		}
+
+		/**
+		 * Gets the sum of the serialized bytes of all recorded copies
+		 *
+		 * @return the sum of the serialized bytes
+		 */
+		public long getTotalBytes()
+		{
+			return totalBytes.sum();
+		}
+
+		/**
+		 * Gets the latency histogram, the bucket with the index i counts the copies with a
+		 * duration from 2^i to 2^(i+1)-1 nanoseconds
+		 *
+		 * @return the latency histogram
+		 */
+		public long[] getHistogram()
+		{
+			final long[] buckets = new long[histogram.length()];
+			for (int i = 0; i < buckets.length; i++)
+			{
+				buckets[i] = histogram.get(i);
+			}
+			return buckets;
+		}
+
+		/**
+		 * Gets the upper bound of the duration of the given percentile
+		 *
+		 * @param percentile
+		 *            the percentile between 0 and 100
+		 * @return the upper bound of the duration in nanoseconds or 0 if nothing was recorded
+		 */
+		public long getPercentileNanos(final double percentile)
+		{
+			final long[] buckets = getHistogram();
+			long total = 0;
+			for (long bucket : buckets)
+			{
+				total += bucket;
+			}
+			final long rank = (long)Math.ceil(total * Math.min(Math.max(percentile, 0), 100) / 100);
+			long seen = 0;
+			for (int i = 0; i < buckets.length; i++)
+			{
+				seen += buckets[i];
+				if (seen > 0 && seen >= rank)
+				{
+					return i == Long.SIZE - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+				}
+			}
+			return 0;
+		}
+
+	}
+
+}
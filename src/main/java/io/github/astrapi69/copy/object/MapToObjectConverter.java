@@ -0,0 +1,100 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The class {@link MapToObjectConverter} copies maps to new objects of a target class. The plain
+ * setters of the target class are resolved once when the converter is created. The key set of a
+ * map is resolved from these setters to a {@link PropertyWriterIndex} that is reused for all
+ * following maps with the same key set. The indexes are held in a table with a maximum size that
+ * evicts the least recently used key set.
+ *
+ * @param <T>
+ *            the generic type of the target object
+ */
+final class MapToObjectConverter<T> implements Function<Map<String, Object>, T>
+{
+
+	/** The maximum number of different key sets that will be cached */
+	private static final int MAX_CACHED_KEY_SETS = 16;
+
+	private final Class<T> type;
+	private final ObjectMapper mapper;
+	private final Constructor<T> constructor;
+	private final Map<String, Method> writeMethods;
+	private final Map<Set<String>, PropertyWriterIndex<T>> indexes;
+	private volatile PropertyWriterIndex<T> lastIndex;
+
+	MapToObjectConverter(final Class<T> type, final ObjectMapper mapper)
+	{
+		this.type = type;
+		this.mapper = mapper;
+		this.constructor = PropertyWriterIndex.getConstructor(type);
+		this.writeMethods = constructor != null
+			? PropertyWriterIndex.getWriteMethods(type, mapper)
+			: Map.of();
+		this.indexes = new LinkedHashMap<>(16, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(
+				final Map.Entry<Set<String>, PropertyWriterIndex<T>> eldest)
+			{
+				return MAX_CACHED_KEY_SETS < size();
+			}
+		};
+	}
+
+	@Override
+	public T apply(final Map<String, Object> map)
+	{
+		PropertyWriterIndex<T> index = lastIndex;
+		if (index == null || !index.matches(map))
+		{
+			synchronized (indexes)
+			{
+				index = indexes.get(map.keySet());
+			}
+			if (index == null)
+			{
+				index = PropertyWriterIndex.of(type, map.keySet(), mapper, constructor,
+					writeMethods);
+				synchronized (indexes)
+				{
+					indexes.putIfAbsent(index.getKeys(), index);
+				}
+			}
+			lastIndex = index;
+		}
+		return index.copy(map);
+	}
+
+}
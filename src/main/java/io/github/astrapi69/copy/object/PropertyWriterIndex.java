@@ -0,0 +1,333 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+
+/**
+ * The class {@link PropertyWriterIndex} resolves the key set of a map once to the write methods of
+ * a target class, so every map with the same key set can be copied to a new object without
+ * repeating the property lookup. The write methods are taken from the bean description of the
+ * given {@link ObjectMapper}, so the index sets the same properties as the object mapper. If the
+ * key set can not be resolved completely, or the class or one of the properties has jackson
+ * annotations that change the conversion, the index falls back to the given {@link ObjectMapper}
+ *
+ * @param <T>
+ *            the generic type of the target object
+ */
+final class PropertyWriterIndex<T>
+{
+
+	/** The value types that can be set without a conversion, because they are immutable */
+	private static final Set<Class<?>> IMMUTABLE_LEAF_TYPES = Set.of(String.class, Boolean.class,
+		Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class,
+		Double.class, BigDecimal.class, BigInteger.class);
+
+	private final Class<T> type;
+	private final ObjectMapper mapper;
+	private final Set<String> keys;
+	private final Constructor<T> constructor;
+	private final String[] names;
+	private final Method[] writers;
+	private final JavaType[] javaTypes;
+	private final Class<?>[] directTypes;
+	private final Object[] nullValues;
+
+	private PropertyWriterIndex(final Class<T> type, final ObjectMapper mapper,
+		final Set<String> keys, final Constructor<T> constructor, final String[] names,
+		final Method[] writers)
+	{
+		this.type = type;
+		this.mapper = mapper;
+		this.keys = keys;
+		this.constructor = constructor;
+		this.names = names;
+		this.writers = writers;
+		if (writers == null)
+		{
+			this.javaTypes = null;
+			this.directTypes = null;
+			this.nullValues = null;
+			return;
+		}
+		this.javaTypes = new JavaType[writers.length];
+		this.directTypes = new Class<?>[writers.length];
+		this.nullValues = new Object[writers.length];
+		for (int i = 0; i < writers.length; i++)
+		{
+			Class<?> parameterType = writers[i].getParameterTypes()[0];
+			javaTypes[i] = mapper.constructType(writers[i].getGenericParameterTypes()[0]);
+			if (parameterType.isPrimitive())
+			{
+				nullValues[i] = Array.get(Array.newInstance(parameterType, 1), 0);
+				parameterType = nullValues[i].getClass();
+			}
+			if (parameterType.isEnum() || IMMUTABLE_LEAF_TYPES.contains(parameterType))
+			{
+				directTypes[i] = parameterType;
+			}
+		}
+	}
+
+	/**
+	 * Factory method for create a new {@link PropertyWriterIndex} for the given key set
+	 *
+	 * @param <T>
+	 *            the generic type of the target object
+	 * @param type
+	 *            the class object of the target object
+	 * @param keys
+	 *            the key set of the maps that will be copied
+	 * @param mapper
+	 *            the object mapper for convert values and for the fallback
+	 * @param constructor
+	 *            the accessible default constructor of the target class or null if the class has
+	 *            none
+	 * @param writeMethods
+	 *            the write methods of the target class, see
+	 *            {@link #getWriteMethods(Class, ObjectMapper)}
+	 * @return the new {@link PropertyWriterIndex} object
+	 */
+	static <T> PropertyWriterIndex<T> of(final Class<T> type, final Set<String> keys,
+		final ObjectMapper mapper, final Constructor<T> constructor,
+		final Map<String, Method> writeMethods)
+	{
+		final Set<String> keySet = new HashSet<>(keys);
+		if (constructor == null)
+		{
+			return new PropertyWriterIndex<>(type, mapper, keySet, null, null, null);
+		}
+		final String[] names = keySet.toArray(new String[0]);
+		final Method[] writers = new Method[names.length];
+		for (int i = 0; i < names.length; i++)
+		{
+			writers[i] = writeMethods.get(names[i]);
+			if (writers[i] == null)
+			{
+				return new PropertyWriterIndex<>(type, mapper, keySet, null, null, null);
+			}
+		}
+		return new PropertyWriterIndex<>(type, mapper, keySet, constructor, names, writers);
+	}
+
+	/**
+	 * Gets the accessible default constructor of the given class
+	 *
+	 * @param <T>
+	 *            the generic type of the target object
+	 * @param type
+	 *            the class object of the target object
+	 * @return the accessible default constructor or null if the class is abstract or has no
+	 *         accessible default constructor
+	 */
+	static <T> Constructor<T> getConstructor(final Class<T> type)
+	{
+		if (type.isInterface() || Modifier.isAbstract(type.getModifiers()))
+		{
+			return null;
+		}
+		try
+		{
+			final Constructor<T> constructor = type.getDeclaredConstructor();
+			return constructor.trySetAccessible() ? constructor : null;
+		}
+		catch (NoSuchMethodException e)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * Gets the accessible write methods of the properties that the given object mapper
+	 * deserializes with a plain setter call
+	 *
+	 * @param type
+	 *            the class object of the target object
+	 * @param mapper
+	 *            the object mapper
+	 * @return the write methods with the property name of the object mapper as key, the map is
+	 *         empty if the class has jackson annotations
+	 */
+	static Map<String, Method> getWriteMethods(final Class<?> type, final ObjectMapper mapper)
+	{
+		final Map<String, Method> writeMethods = new HashMap<>();
+		if (hasJacksonAnnotations(type)
+			|| hasJacksonAnnotations(mapper.getDeserializationConfig().findMixInClassFor(type)))
+		{
+			return writeMethods;
+		}
+		final BeanDescription description = mapper.getDeserializationConfig()
+			.introspect(mapper.constructType(type));
+		for (BeanPropertyDefinition property : description.findProperties())
+		{
+			if (property.hasSetter() && isPlainSetter(property))
+			{
+				final Method writer = property.getSetter().getAnnotated();
+				if (writer.trySetAccessible())
+				{
+					writeMethods.put(property.getName(), writer);
+				}
+			}
+		}
+		return writeMethods;
+	}
+
+	private static boolean hasJacksonAnnotations(final Class<?> type)
+	{
+		Class<?> current = type;
+		while (current != null && current != Object.class)
+		{
+			for (Annotation annotation : current.getDeclaredAnnotations())
+			{
+				if (isJacksonAnnotation(annotation))
+				{
+					return true;
+				}
+			}
+			for (Class<?> anInterface : current.getInterfaces())
+			{
+				if (hasJacksonAnnotations(anInterface))
+				{
+					return true;
+				}
+			}
+			current = current.getSuperclass();
+		}
+		return false;
+	}
+
+	private static boolean isPlainSetter(final BeanPropertyDefinition property)
+	{
+		for (Annotation annotation : property.getSetter().getAllAnnotations().annotations())
+		{
+			if (annotation instanceof JsonProperty || annotation instanceof JsonAlias
+				|| annotation instanceof JsonPropertyDescription)
+			{
+				continue;
+			}
+			if (annotation instanceof JsonSetter)
+			{
+				final JsonSetter jsonSetter = (JsonSetter)annotation;
+				if (jsonSetter.nulls() == Nulls.DEFAULT && jsonSetter.contentNulls() == Nulls.DEFAULT)
+				{
+					continue;
+				}
+			}
+			if (isJacksonAnnotation(annotation))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isJacksonAnnotation(final Annotation annotation)
+	{
+		return annotation.annotationType().getName().startsWith("com.fasterxml.jackson.");
+	}
+
+	/**
+	 * Checks if the given map has the key set of this index
+	 *
+	 * @param map
+	 *            the map to check
+	 * @return true if the given map has the key set of this index otherwise false
+	 */
+	boolean matches(final Map<String, Object> map)
+	{
+		return keys.size() == map.size() && keys.equals(map.keySet());
+	}
+
+	/**
+	 * Gets the key set of this index
+	 *
+	 * @return the key set of this index
+	 */
+	Set<String> getKeys()
+	{
+		return keys;
+	}
+
+	/**
+	 * Copies all values from the given map to a new object of the target class
+	 *
+	 * @param map
+	 *            the map with the values, it has to match the key set of this index
+	 * @return the new object that is filled from the given map
+	 */
+	T copy(final Map<String, Object> map)
+	{
+		if (writers == null)
+		{
+			return mapper.convertValue(map, type);
+		}
+		try
+		{
+			final T object = constructor.newInstance();
+			for (int i = 0; i < names.length; i++)
+			{
+				Object value = map.get(names[i]);
+				if (value == null)
+				{
+					value = nullValues[i];
+				}
+				else if (directTypes[i] == null || !directTypes[i].isInstance(value))
+				{
+					value = mapper.convertValue(value, javaTypes[i]);
+				}
+				writers[i].invoke(object, value);
+			}
+			return object;
+		}
+		catch (InstantiationException | IllegalAccessException e)
+		{
+			throw new IllegalArgumentException(
+				"Could not create a new instance of the class " + type.getName(), e);
+		}
+		catch (InvocationTargetException e)
+		{
+			throw new IllegalArgumentException(
+				"Could not set a property of the class " + type.getName(), e.getCause());
+		}
+	}
+
+}
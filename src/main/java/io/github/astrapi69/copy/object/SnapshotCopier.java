@@ -0,0 +1,165 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+
+import io.github.astrapi69.reflection.InstanceFactory;
+import lombok.experimental.UtilityClass;
+
+/**
+ * The class {@link SnapshotCopier} creates consistent copies of objects that are modified
+ * concurrently. The fields are read with acquire semantics through var handles between the begin
+ * and the validation of a {@link SnapshotGuard} and the read is retried until the validation
+ * succeeds. The copy is only created from a validated read. Final fields are not copied, they keep
+ * the value of the new instance, so a final lock is not shared with the copy. All other fields are
+ * copied: the version field of {@link SnapshotGuard#versionField(Class, String)} can not be final
+ * and is copied with its even value, and a lock in a field that is not final is shared with the
+ * copy
+ */
+@UtilityClass
+final class SnapshotCopier
+{
+
+	/** The number of attempts that only spin before the thread yields */
+	private static final int SPIN_ATTEMPTS = 16;
+
+	private static final ClassValue<SnapshotPlan> PLANS = new ClassValue<>()
+	{
+		@Override
+		protected SnapshotPlan computeValue(final Class<?> type)
+		{
+			return new SnapshotPlan(type);
+		}
+	};
+
+	/**
+	 * Creates and caches the snapshot plan of the given class
+	 *
+	 * @param type
+	 *            the class
+	 * @throws IllegalArgumentException
+	 *             is thrown if a field of the given class can not be accessed with a var handle
+	 */
+	static void warmUp(final Class<?> type)
+	{
+		PLANS.get(type);
+	}
+
+	/**
+	 * Creates a consistent copy of the given object
+	 *
+	 * @param <T>
+	 *            the generic type of the given object
+	 * @param original
+	 *            the original object
+	 * @param guard
+	 *            the guard that validates the read fields
+	 * @param maxAttempts
+	 *            the maximum number of reads
+	 * @return the consistent copy
+	 * @throws IllegalAccessException
+	 *             if the caller does not have access to a field
+	 * @throws ConcurrentModificationException
+	 *             is thrown if no read was valid after the maximum number of attempts
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> T copy(final T original, final SnapshotGuard<? super T> guard,
+		final int maxAttempts) throws IllegalAccessException
+	{
+		final SnapshotPlan plan = PLANS.get(original.getClass());
+		final Object[] values = new Object[plan.handles.length];
+		for (int attempt = 1; attempt <= maxAttempts; attempt++)
+		{
+			final long stamp = guard.beginRead(original);
+			for (int i = 0; i < values.length; i++)
+			{
+				values[i] = plan.handles[i].getAcquire(original);
+			}
+			if (guard.validate(original, stamp))
+			{
+				final T copy = (T)InstanceFactory.newInstance(original.getClass());
+				for (int i = 0; i < values.length; i++)
+				{
+					plan.fields[i].set(copy, values[i]);
+				}
+				return copy;
+			}
+			if (attempt < SPIN_ATTEMPTS)
+			{
+				Thread.onSpinWait();
+			}
+			else
+			{
+				Thread.yield();
+			}
+		}
+		throw new ConcurrentModificationException("Could not read a consistent snapshot of "
+			+ original.getClass().getName() + " in " + maxAttempts + " attempts");
+	}
+
+	/**
+	 * The class {@link SnapshotPlan} holds the var handles for read and the fields for write the
+	 * instance fields of a class that are not final
+	 */
+	private static final class SnapshotPlan
+	{
+
+		private final VarHandle[] handles;
+		private final Field[] fields;
+
+		private SnapshotPlan(final Class<?> type)
+		{
+			final List<VarHandle> varHandles = new ArrayList<>();
+			final List<Field> instanceFields = new ArrayList<>();
+			for (Field field : CopyRegistry.getFieldPlan(type))
+			{
+				final int modifiers = field.getModifiers();
+				if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers))
+				{
+					continue;
+				}
+				try
+				{
+					final MethodHandles.Lookup lookup = MethodHandles
+						.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup());
+					varHandles.add(lookup.unreflectVarHandle(field));
+				}
+				catch (IllegalAccessException e)
+				{
+					throw new IllegalArgumentException("Could not access the field "
+						+ field.getName() + " of " + field.getDeclaringClass().getName(), e);
+				}
+				instanceFields.add(field);
+			}
+			this.handles = varHandles.toArray(new VarHandle[0]);
+			this.fields = instanceFields.toArray(new Field[0]);
+		}
+
+	}
+
+}
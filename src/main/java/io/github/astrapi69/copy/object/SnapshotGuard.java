@@ -0,0 +1,152 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+
+import lombok.NonNull;
+
+/**
+ * The interface {@link SnapshotGuard} is the adapter between
+ * {@link CopyObjectExtensions#copySnapshot(Object, SnapshotGuard)} and the mechanism that an object
+ * uses to signal concurrent modifications. A snapshot copy reads all fields between
+ * {@link #beginRead(Object)} and {@link #validate(Object, long)} and retries if the validation
+ * fails, so writers are never blocked from readers
+ *
+ * @param <T>
+ *            the generic type of the guarded object
+ */
+public interface SnapshotGuard<T>
+{
+
+	/**
+	 * Begins an optimistic read of the given object
+	 *
+	 * @param object
+	 *            the guarded object
+	 * @return the stamp that is validated after the read
+	 */
+	long beginRead(T object);
+
+	/**
+	 * Validates that the given object was not modified since the call of
+	 * {@link #beginRead(Object)} that returned the given stamp
+	 *
+	 * @param object
+	 *            the guarded object
+	 * @param stamp
+	 *            the stamp from {@link #beginRead(Object)}
+	 * @return true if the read values are consistent otherwise false
+	 */
+	boolean validate(T object, long stamp);
+
+	/**
+	 * Factory method for create a new {@link SnapshotGuard} that uses the {@link StampedLock} of
+	 * the guarded object. The writers have to modify the object while they hold the write lock.
+	 * The field of the lock should be final, otherwise the lock is shared with the copies
+	 *
+	 * @param <T>
+	 *            the generic type of the guarded object
+	 * @param lockAccessor
+	 *            the function that returns the lock of the guarded object
+	 * @return the new {@link SnapshotGuard}
+	 */
+	static <T> SnapshotGuard<T> stampedLock(
+		final @NonNull Function<? super T, StampedLock> lockAccessor)
+	{
+		return new SnapshotGuard<>()
+		{
+			@Override
+			public long beginRead(final T object)
+			{
+				return lockAccessor.apply(object).tryOptimisticRead();
+			}
+
+			@Override
+			public boolean validate(final T object, final long stamp)
+			{
+				return stamp != 0 && lockAccessor.apply(object).validate(stamp);
+			}
+		};
+	}
+
+	/**
+	 * Factory method for create a new {@link SnapshotGuard} that uses a version field of type
+	 * {@code int} or {@code long} of the guarded object. The writers have to increment the version
+	 * before and after each modification, so an odd version signals an active writer. The writes of
+	 * a modification must not become visible before the odd version, for instance with a volatile
+	 * version field and a {@link VarHandle#storeStoreFence()} after the first increment
+	 *
+	 * @param <T>
+	 *            the generic type of the guarded object
+	 * @param type
+	 *            the class that declares the version field
+	 * @param fieldName
+	 *            the name of the version field
+	 * @return the new {@link SnapshotGuard}
+	 * @throws IllegalArgumentException
+	 *             is thrown if the version field does not exist or can not be accessed
+	 */
+	static <T> SnapshotGuard<T> versionField(final @NonNull Class<T> type,
+		final @NonNull String fieldName)
+	{
+		final Class<?> fieldType;
+		final VarHandle version;
+		try
+		{
+			fieldType = type.getDeclaredField(fieldName).getType();
+			if (fieldType != int.class && fieldType != long.class)
+			{
+				throw new IllegalArgumentException(
+					"The version field " + fieldName + " has to be of type int or long");
+			}
+			version = MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+				.findVarHandle(type, fieldName, fieldType);
+		}
+		catch (NoSuchFieldException | IllegalAccessException e)
+		{
+			throw new IllegalArgumentException(
+				"Could not access the version field " + fieldName + " of " + type.getName(), e);
+		}
+		final boolean longVersion = fieldType == long.class;
+		return new SnapshotGuard<>()
+		{
+			@Override
+			public long beginRead(final T object)
+			{
+				return longVersion
+					? (long)version.getAcquire(object)
+					: (int)version.getAcquire(object);
+			}
+
+			@Override
+			public boolean validate(final T object, final long stamp)
+			{
+				VarHandle.acquireFence();
+				return (stamp & 1) == 0 && beginRead(object) == stamp;
+			}
+		};
+	}
+
+}
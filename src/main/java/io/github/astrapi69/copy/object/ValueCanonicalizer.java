@@ -0,0 +1,241 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.NonNull;
+
+/**
+ * The class {@link ValueCanonicalizer} replaces immutable values with an equal canonical instance,
+ * so equal values in a copy share a single instance. The canonical instances are held in a table
+ * with a maximum size that evicts the least recently used instance.<br>
+ * <br>
+ * The immutable value types are {@link String}, the primitive wrappers, {@link BigDecimal},
+ * {@link BigInteger}, {@link UUID}, the value types of the package {@code java.time} and the
+ * additional types that are given to the constructor. An additional type has to be immutable and
+ * has to implement equals and hashCode
+ */
+public class ValueCanonicalizer
+{
+
+	/** The default maximum number of canonical instances */
+	public static final int DEFAULT_MAX_SIZE = 10_000;
+
+	private static final Set<Class<?>> IMMUTABLE_VALUE_TYPES = Set.of(String.class, Boolean.class,
+		Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class,
+		Double.class, BigDecimal.class, BigInteger.class, UUID.class, Duration.class,
+		Instant.class, LocalDate.class, LocalDateTime.class, LocalTime.class, MonthDay.class,
+		OffsetDateTime.class, OffsetTime.class, Period.class, Year.class, YearMonth.class,
+		ZonedDateTime.class);
+
+	private final Set<Class<?>> valueTypes;
+	private final Map<Object, Object> table;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Instantiates a new {@link ValueCanonicalizer} with the default maximum size
+	 */
+	public ValueCanonicalizer()
+	{
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Instantiates a new {@link ValueCanonicalizer}
+	 *
+	 * @param maxSize
+	 *            the maximum number of canonical instances
+	 * @param additionalValueTypes
+	 *            optional additional immutable value types
+	 */
+	public ValueCanonicalizer(final int maxSize, final @NonNull Class<?>... additionalValueTypes)
+	{
+		if (maxSize <= 0)
+		{
+			throw new IllegalArgumentException("maxSize must be positive");
+		}
+		this.valueTypes = new HashSet<>(IMMUTABLE_VALUE_TYPES);
+		this.valueTypes.addAll(Set.of(additionalValueTypes));
+		this.table = new LinkedHashMap<>(16, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Object, Object> eldest)
+			{
+				if (maxSize < size())
+				{
+					evictions.increment();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Checks if the given class is one of the immutable value types of the JDK that are
+	 * canonicalized from every canonicalizer
+	 *
+	 * @param type
+	 *            the class
+	 * @return true if the given class is an immutable value type of the JDK otherwise false
+	 */
+	static boolean isImmutableValueType(final Class<?> type)
+	{
+		return IMMUTABLE_VALUE_TYPES.contains(type);
+	}
+
+	/**
+	 * Checks if the given class is an immutable value type of this canonicalizer
+	 *
+	 * @param type
+	 *            the class
+	 * @return true if values of the given class will be canonicalized otherwise false
+	 */
+	public boolean isValueType(final @NonNull Class<?> type)
+	{
+		return valueTypes.contains(type);
+	}
+
+	/**
+	 * Gets the canonical instance of the given value
+	 *
+	 * @param <T>
+	 *            the generic type of the value
+	 * @param value
+	 *            the value
+	 * @return the canonical instance that is equal to the given value or the given value if it is
+	 *         null or not an immutable value type
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T canonicalize(final T value)
+	{
+		if (value == null || !valueTypes.contains(value.getClass()))
+		{
+			return value;
+		}
+		synchronized (table)
+		{
+			final Object canonical = table.putIfAbsent(value, value);
+			if (canonical == null)
+			{
+				misses.increment();
+				return value;
+			}
+			hits.increment();
+			return (T)canonical;
+		}
+	}
+
+	/**
+	 * Gets the number of values that were replaced with a canonical instance
+	 *
+	 * @return the number of hits
+	 */
+	public long getHits()
+	{
+		return hits.sum();
+	}
+
+	/**
+	 * Gets the number of values that were added as new canonical instance
+	 *
+	 * @return the number of misses
+	 */
+	public long getMisses()
+	{
+		return misses.sum();
+	}
+
+	/**
+	 * Gets the number of canonical instances that were evicted because the maximum size was
+	 * reached
+	 *
+	 * @return the number of evictions
+	 */
+	public long getEvictions()
+	{
+		return evictions.sum();
+	}
+
+	/**
+	 * Gets the ratio of the hits to all canonicalized values
+	 *
+	 * @return the hit rate between 0 and 1
+	 */
+	public double getHitRate()
+	{
+		final long hitCount = getHits();
+		final long total = hitCount + getMisses();
+		return total == 0 ? 0 : (double)hitCount / total;
+	}
+
+	/**
+	 * Gets the current number of canonical instances
+	 *
+	 * @return the current number of canonical instances
+	 */
+	public int size()
+	{
+		synchronized (table)
+		{
+			return table.size();
+		}
+	}
+
+	/**
+	 * Removes all canonical instances and resets the statistics
+	 */
+	public void clear()
+	{
+		synchronized (table)
+		{
+			table.clear();
+		}
+		hits.reset();
+		misses.reset();
+		evictions.reset();
+	}
+
+}
@@ -0,0 +1,90 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import java.time.Duration;
+
+/**
+ * The class {@link WarmUpResult} holds the result of the warm up of one class with the class
+ * {@link CopyRegistry}
+ */
+public final class WarmUpResult
+{
+
+	private final Class<?> type;
+	private final Duration duration;
+	private final Throwable failure;
+
+	WarmUpResult(final Class<?> type, final Duration duration, final Throwable failure)
+	{
+		this.type = type;
+		this.duration = duration;
+		this.failure = failure;
+	}
+
+	/**
+	 * Gets the class that was warmed up
+	 *
+	 * @return the class that was warmed up
+	 */
+	public Class<?> getType()
+	{
+		return type;
+	}
+
+	/**
+	 * Gets the duration of the warm up
+	 *
+	 * @return the duration of the warm up
+	 */
+	public Duration getDuration()
+	{
+		return duration;
+	}
+
+	/**
+	 * Gets the failure of the warm up
+	 *
+	 * @return the first exception that occurred while the warm up or null if the warm up succeeded
+	 */
+	public Throwable getFailure()
+	{
+		return failure;
+	}
+
+	/**
+	 * Checks if the warm up succeeded
+	 *
+	 * @return true if the warm up succeeded otherwise false
+	 */
+	public boolean isSuccessful()
+	{
+		return failure == null;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "WarmUpResult[type=" + type.getName() + ", duration=" + duration
+			+ (failure == null ? "" : ", failure=" + failure) + "]";
+	}
+
+}
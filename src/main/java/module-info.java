@@ -26,7 +26,10 @@ module jobj.copy.main
 	requires jobj.reflect.main;
 	requires silly.io.main;
 	requires com.fasterxml.jackson.databind;
+	requires static jdk.jfr;
 
 	exports io.github.astrapi69.copy.object;
 
+	uses io.github.astrapi69.copy.object.CopyMetrics;
+
 }
\ No newline at end of file
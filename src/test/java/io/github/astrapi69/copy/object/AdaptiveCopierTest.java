@@ -0,0 +1,237 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Serializable;
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Employee;
+import io.github.astrapi69.test.object.Person;
+import io.github.astrapi69.test.object.enumeration.Gender;
+
+/**
+ * The unit test class for the class {@link AdaptiveCopier}
+ */
+public class AdaptiveCopierTest
+{
+
+	/**
+	 * Test method for {@link AdaptiveCopier#copy(Object)}
+	 */
+	@Test
+	public void testCopy()
+	{
+		AdaptiveCopier adaptiveCopier;
+		Person expected;
+		Person actual;
+
+		adaptiveCopier = new AdaptiveCopier(2, 1000);
+		expected = Person.builder().gender(Gender.MALE).name("asterix").about("about").build();
+		assertNull(adaptiveCopier.getChosenStrategy(Person.class));
+		for (int i = 0; i < 20; i++)
+		{
+			actual = adaptiveCopier.copy(expected);
+			assertEquals(expected, actual);
+			if (2 * adaptiveCopier.getStrategies().size() <= i)
+			{
+				assertNotNull(adaptiveCopier.getChosenStrategy(Person.class));
+			}
+		}
+		assertTrue(adaptiveCopier.getChosenStrategies().containsKey(Person.class));
+		adaptiveCopier.reset();
+		assertTrue(adaptiveCopier.getChosenStrategies().isEmpty());
+	}
+
+	/**
+	 * Test method for {@link AdaptiveCopier#copy(Object)} with a class that is not serializable
+	 */
+	@Test
+	public void testCopyNotSerializable()
+	{
+		AdaptiveCopier adaptiveCopier;
+		Counter original;
+		Counter actual;
+
+		adaptiveCopier = new AdaptiveCopier(1, 100);
+		original = new Counter();
+		original.setValue(42);
+		for (int i = 0; i < 5; i++)
+		{
+			actual = adaptiveCopier.copy(original);
+			assertEquals(42, actual.getValue());
+		}
+		assertNotNull(adaptiveCopier.getChosenStrategy(Counter.class));
+		assertNotEquals(CopyStrategy.SERIALIZED, adaptiveCopier.getChosenStrategy(Counter.class));
+	}
+
+	/**
+	 * Test method for {@link AdaptiveCopier#copy(Object)} with the default candidate strategies,
+	 * the copy has to be deep whatever strategy is chosen
+	 */
+	@Test
+	public void testCopyIsDeep()
+	{
+		AdaptiveCopier adaptiveCopier;
+		Employee expected;
+		Employee actual;
+
+		adaptiveCopier = new AdaptiveCopier(2, 1000);
+		expected = Employee.builder().id("23")
+			.person(Person.builder().gender(Gender.FEMALE).name("Anna").build()).build();
+		for (int i = 0; i < 20; i++)
+		{
+			actual = adaptiveCopier.copy(expected);
+			assertEquals(expected, actual);
+			assertNotSame(expected.getPerson(), actual.getPerson());
+		}
+		assertTrue(adaptiveCopier.getChosenStrategy(Employee.class).isDeep());
+	}
+
+	/**
+	 * Test method for {@link AdaptiveCopier#copy(Object)} with given candidate strategies
+	 */
+	@Test
+	public void testCopyWithStrategies()
+	{
+		AdaptiveCopier adaptiveCopier;
+		Person expected;
+
+		adaptiveCopier = new AdaptiveCopier(EnumSet.of(CopyStrategy.SHALLOW), 1, 100);
+		expected = Person.builder().gender(Gender.MALE).name("asterix").build();
+		for (int i = 0; i < 3; i++)
+		{
+			assertEquals(expected, adaptiveCopier.copy(expected));
+		}
+		assertEquals(CopyStrategy.SHALLOW, adaptiveCopier.getChosenStrategy(Person.class));
+		assertThrows(IllegalArgumentException.class,
+			() -> new AdaptiveCopier(EnumSet.noneOf(CopyStrategy.class), 1, 100));
+	}
+
+	/**
+	 * Test method for {@link AdaptiveCopier#copy(Object)}, the copies are only verified with
+	 * equals while the strategies are profiled
+	 */
+	@Test
+	public void testCopyVerifiesOnlyWhileProfiling()
+	{
+		AdaptiveCopier adaptiveCopier;
+		Tracked original;
+		int verifications;
+
+		adaptiveCopier = new AdaptiveCopier(2, 1000);
+		original = new Tracked();
+		original.setValue(7);
+		for (int i = 0; i <= 2 * adaptiveCopier.getStrategies().size(); i++)
+		{
+			adaptiveCopier.copy(original);
+		}
+		assertNotNull(adaptiveCopier.getChosenStrategy(Tracked.class));
+		verifications = Tracked.EQUALS_CALLS.get();
+		for (int i = 0; i < 100; i++)
+		{
+			assertEquals(7, adaptiveCopier.copy(original).getValue());
+		}
+		assertEquals(verifications, Tracked.EQUALS_CALLS.get());
+	}
+
+	/**
+	 * Test method for {@link CopyObjectExtensions#adaptiveCopy(Object)}
+	 */
+	@Test
+	public void testAdaptiveCopy()
+	{
+		Person expected;
+		Person actual;
+
+		expected = Person.builder().gender(Gender.FEMALE).name("Anna").build();
+		actual = CopyObjectExtensions.adaptiveCopy(expected);
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * A simple bean that counts the calls of its equals method
+	 */
+	public static class Tracked implements Serializable
+	{
+
+		static final AtomicInteger EQUALS_CALLS = new AtomicInteger();
+
+		private static final long serialVersionUID = 1L;
+
+		private int value;
+
+		public int getValue()
+		{
+			return value;
+		}
+
+		public void setValue(int value)
+		{
+			this.value = value;
+		}
+
+		@Override
+		public boolean equals(Object object)
+		{
+			EQUALS_CALLS.incrementAndGet();
+			return object instanceof Tracked && ((Tracked)object).value == value;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return value;
+		}
+
+	}
+
+	/**
+	 * A simple bean that is not serializable and does not define equals
+	 */
+	public static class Counter
+	{
+
+		private int value;
+
+		public int getValue()
+		{
+			return value;
+		}
+
+		public void setValue(int value)
+		{
+			this.value = value;
+		}
+
+	}
+
+}
@@ -0,0 +1,183 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Employee;
+import io.github.astrapi69.test.object.Person;
+import io.github.astrapi69.test.object.enumeration.Gender;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * The unit test class for the class {@link CopyInstrumentation}
+ */
+public class CopyInstrumentationTest
+{
+
+	/**
+	 * Test method for {@link CopyInstrumentation#setMetrics(CopyMetrics)} with the
+	 * {@link HistogramCopyMetrics}
+	 */
+	@Test
+	public void testMetrics() throws IllegalAccessException, IOException, ClassNotFoundException
+	{
+		HistogramCopyMetrics metrics;
+		HistogramCopyMetrics.Statistics statistics;
+
+		metrics = new HistogramCopyMetrics();
+		CopyInstrumentation.setMetrics(metrics);
+		try
+		{
+			assertTrue(CopyInstrumentation.isEnabled());
+			Person person = Person.builder().gender(Gender.MALE).name("asterix").build();
+			for (int i = 0; i < 10; i++)
+			{
+				CopyObjectExtensions.copyObject(person);
+			}
+			Employee employee = Employee.builder().person(person).id("23").build();
+			CopyObjectExtensions.copySerializedObject(employee);
+
+			statistics = metrics.getStatistics(Person.class, "copyObject");
+			assertNotNull(statistics);
+			assertEquals(10, statistics.getCount());
+			assertEquals(10, sum(statistics.getHistogram()));
+			assertTrue(statistics.getPercentileNanos(99) >= statistics.getPercentileNanos(50));
+
+			statistics = metrics.getStatistics(Employee.class, "copySerializedObject");
+			assertNotNull(statistics);
+			assertEquals(1, statistics.getCount());
+			assertTrue(statistics.getTotalBytes() > 0);
+		}
+		finally
+		{
+			CopyInstrumentation.setMetrics(CopyMetrics.NOOP);
+		}
+		assertFalse(metrics.getStatistics().isEmpty());
+	}
+
+	/**
+	 * Test that a public copy method that uses other copy methods is recorded once, that the lazy
+	 * copies of a stream are recorded and that failed copies are recorded
+	 */
+	@Test
+	public void testMetricsOfNestedAndFailedCopies() throws Exception
+	{
+		HistogramCopyMetrics metrics;
+		HistogramCopyMetrics.Statistics statistics;
+
+		metrics = new HistogramCopyMetrics();
+		CopyInstrumentation.setMetrics(metrics);
+		try
+		{
+			Person person = Person.builder().gender(Gender.MALE).name("asterix").build();
+			String base64EncodedString = CopyObjectExtensions
+				.copyObjectToMapBase64EncodedString(person, "class");
+			CopyObjectExtensions.copyBase64EncodedStringMapToObject(base64EncodedString,
+				Person.class);
+			CopyStrategy.MAP.copy(person);
+			assertNull(metrics.getStatistics(Person.class, "copyToMap"));
+			assertNull(metrics.getStatistics(Person.class, "copyMapToObject"));
+			assertEquals(1, metrics
+				.getStatistics(Person.class, "copyObjectToMapBase64EncodedString").getCount());
+			assertEquals(1, metrics
+				.getStatistics(Person.class, "copyBase64EncodedStringMapToObject").getCount());
+			assertEquals(1, metrics.getStatistics(Person.class, "copyWithMap").getCount());
+
+			Map<String, Object> map = CopyObjectExtensions.copyToMap(person, "class");
+			CopyObjectExtensions.copyMapsToObjects(Stream.of(map, map, map), Person.class)
+				.collect(Collectors.toList());
+			assertEquals(3, metrics.getStatistics(Person.class, "copyMapsToObjects").getCount());
+			CopyObjectExtensions.copyMapsToObjects(List.of(map, map), Person.class);
+			assertEquals(5, metrics.getStatistics(Person.class, "copyMapsToObjects").getCount());
+
+			Map<String, Object> invalid = Map.of("married", "not a boolean");
+			assertThrows(IllegalArgumentException.class,
+				() -> CopyObjectExtensions.copyMapToObject(invalid, Person.class));
+			statistics = metrics.getStatistics(Person.class, "copyMapToObject");
+			assertEquals(0, statistics.getCount());
+			assertEquals(1, statistics.getFailureCount());
+		}
+		finally
+		{
+			CopyInstrumentation.setMetrics(CopyMetrics.NOOP);
+		}
+	}
+
+	/**
+	 * Test that a {@link CopyEvent} is committed while a flight recording is running
+	 */
+	@Test
+	public void testCopyEvent() throws IllegalAccessException, IOException
+	{
+		List<RecordedEvent> events;
+		Path file = Files.createTempFile("copy", ".jfr");
+		try (Recording recording = new Recording())
+		{
+			recording.enable(CopyEvent.class).withoutThreshold();
+			recording.start();
+			assertTrue(CopyInstrumentation.isEnabled());
+			CopyObjectExtensions
+				.copyObject(Person.builder().gender(Gender.FEMALE).name("Anna").build());
+			recording.stop();
+			recording.dump(file);
+			events = RecordingFile.readAllEvents(file).stream()
+				.filter(event -> event.getEventType().getName()
+					.equals("io.github.astrapi69.copy.Copy"))
+				.collect(Collectors.toList());
+		}
+		finally
+		{
+			Files.deleteIfExists(file);
+		}
+		assertEquals(1, events.size());
+		assertEquals(Person.class.getName(), events.get(0).getString("type"));
+		assertEquals("copyObject", events.get(0).getString("strategy"));
+	}
+
+	private static long sum(long[] values)
+	{
+		long sum = 0;
+		for (long value : values)
+		{
+			sum += value;
+		}
+		return sum;
+	}
+
+}
@@ -20,16 +20,39 @@
  */
 package io.github.astrapi69.copy.object;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.beans.IntrospectionException;
 import java.io.IOException;
+import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+
 import io.github.astrapi69.date.CreateDateExtensions;
 import io.github.astrapi69.io.Serializer;
 import io.github.astrapi69.test.object.Employee;
@@ -141,6 +164,187 @@ public class CopyObjectExtensionsTest
 		assertEquals(premiumMember, premiumMemberCopy);
 	}
 
+	/**
+	 * Test method for {@link CopyObjectExtensions#copyMapsToObjects(List, Class)}
+	 *
+	 * @throws IntrospectionException
+	 *             is thrown if an exception occurs during introspection
+	 * @throws IllegalAccessException
+	 *             if the caller does not have access to the property accessor method
+	 * @throws InvocationTargetException
+	 *             is thrown if the underlying method throws an exception
+	 */
+	@Test
+	public void testCopyMapsToObjects()
+		throws IntrospectionException, InvocationTargetException, IllegalAccessException
+	{
+		List<Person> expected;
+		List<Person> actual;
+		List<Map<String, Object>> maps;
+		Map<String, Object> partialMap;
+
+		// new scenario
+		expected = new ArrayList<>();
+		maps = new ArrayList<>();
+		for (int i = 0; i < 10; i++)
+		{
+			Person person = Person.builder().gender(i % 2 == 0 ? Gender.MALE : Gender.FEMALE)
+				.name("name" + i).married(i % 3 == 0).build();
+			expected.add(person);
+			maps.add(CopyObjectExtensions.copyToMap(person, "class"));
+		}
+		actual = CopyObjectExtensions.copyMapsToObjects(maps, Person.class);
+		assertEquals(expected, actual);
+		// new scenario with a different key set in the middle
+		partialMap = new HashMap<>();
+		partialMap.put("name", "obelix");
+		maps.add(5, partialMap);
+		expected.add(5, CopyObjectExtensions.copyMapToObject(partialMap, Person.class));
+		actual = CopyObjectExtensions.copyMapsToObjects(maps, Person.class);
+		assertEquals(expected, actual);
+		// new scenario with more key sets than the converter caches
+		final Map<String, Object> source = maps.get(0);
+		final List<String> keys = new ArrayList<>(source.keySet());
+		expected = new ArrayList<>();
+		maps = new ArrayList<>();
+		for (int round = 0; round < 2; round++)
+		{
+			for (int subset = 1; subset < 1 << keys.size(); subset++)
+			{
+				Map<String, Object> map = new HashMap<>();
+				for (int i = 0; i < keys.size(); i++)
+				{
+					if ((subset & 1 << i) != 0)
+					{
+						map.put(keys.get(i), source.get(keys.get(i)));
+					}
+				}
+				maps.add(map);
+			}
+		}
+		for (Map<String, Object> map : maps)
+		{
+			expected.add(CopyObjectExtensions.copyMapToObject(map, Person.class));
+		}
+		actual = CopyObjectExtensions.copyMapsToObjects(maps, Person.class);
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link CopyObjectExtensions#copyMapsToObjects(Stream, Class)}
+	 *
+	 * @throws IntrospectionException
+	 *             is thrown if an exception occurs during introspection
+	 * @throws IllegalAccessException
+	 *             if the caller does not have access to the property accessor method
+	 * @throws InvocationTargetException
+	 *             is thrown if the underlying method throws an exception
+	 */
+	@Test
+	public void testCopyMapsToObjectsWithStream()
+		throws IntrospectionException, InvocationTargetException, IllegalAccessException
+	{
+		List<Employee> expected;
+		List<Employee> actual;
+		List<Map<String, Object>> maps;
+
+		expected = new ArrayList<>();
+		maps = new ArrayList<>();
+		for (int i = 0; i < 5; i++)
+		{
+			Person person = Person.builder().gender(Gender.FEMALE).name("Anna" + i)
+				.married(true).about("Ha ha ha...").nickname("beast").build();
+			Employee employee = Employee.builder().person(person).id("" + i).build();
+			expected.add(employee);
+			maps.add(CopyObjectExtensions.copyToMap(employee, "class"));
+		}
+		actual = CopyObjectExtensions.copyMapsToObjects(maps.stream(), Employee.class)
+			.collect(Collectors.toList());
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link CopyObjectExtensions#copyMapsToObjects(List, Class)} with a class that
+	 * has jackson annotations, the result has to be the same as with
+	 * {@link CopyObjectExtensions#copyMapToObject(Map, Class)}
+	 */
+	@Test
+	public void testCopyMapsToObjectsWithJacksonAnnotations()
+	{
+		Map<String, Object> map;
+		JsonBean expected;
+		List<JsonBean> actual;
+
+		map = new HashMap<>();
+		map.put("secret", "password");
+		map.put("title", null);
+		expected = CopyObjectExtensions.copyMapToObject(map, JsonBean.class);
+		assertNull(expected.getSecret());
+		assertEquals("untitled", expected.getTitle());
+		actual = CopyObjectExtensions.copyMapsToObjects(List.of(map, map), JsonBean.class);
+		for (JsonBean jsonBean : actual)
+		{
+			assertEquals(expected.getSecret(), jsonBean.getSecret());
+			assertEquals(expected.getTitle(), jsonBean.getTitle());
+		}
+
+		map = new HashMap<>();
+		map.put("fullName", "Anna");
+		map.put("secret", "password");
+		expected = CopyObjectExtensions.copyMapToObject(map, JsonBean.class);
+		assertEquals("Anna", expected.getName());
+		actual = CopyObjectExtensions.copyMapsToObjects(List.of(map), JsonBean.class);
+		assertEquals(expected.getName(), actual.get(0).getName());
+		assertNull(actual.get(0).getSecret());
+	}
+
+	/**
+	 * A bean with jackson annotations that rename, ignore and skip properties
+	 */
+	public static class JsonBean
+	{
+
+		@JsonProperty("fullName")
+		private String name;
+
+		private String secret;
+
+		@JsonSetter(nulls = Nulls.SKIP)
+		private String title = "untitled";
+
+		public String getName()
+		{
+			return name;
+		}
+
+		public void setName(String name)
+		{
+			this.name = name;
+		}
+
+		public String getSecret()
+		{
+			return secret;
+		}
+
+		@JsonIgnore
+		public void setSecret(String secret)
+		{
+			this.secret = secret;
+		}
+
+		public String getTitle()
+		{
+			return title;
+		}
+
+		public void setTitle(String title)
+		{
+			this.title = title;
+		}
+
+	}
+
 	/**
 	 * Test method for {@link CopyObjectExtensions#copyToMap(Object, String...)}
 	 *
@@ -447,6 +651,267 @@ public class CopyObjectExtensionsTest
 		assertEquals(expected, actual);
 	}
 
+	/**
+	 * Test method for
+	 * {@link CopyObjectExtensions#copySerializedObject(java.io.Serializable, CopyOptions)} and
+	 * {@link CopyObjectExtensions#toByteArray(java.io.Serializable, CopyOptions)} with limits
+	 */
+	@Test
+	public void testCopySerializedObjectWithLimits() throws ClassNotFoundException, IOException
+	{
+		Employee expected;
+		Employee actual;
+		CopyOptions options;
+		CopyLimitExceededException exception;
+
+		final Person person = Person.builder().gender(Gender.FEMALE).name("Anna").married(true)
+			.about("Ha ha ha...").nickname("beast").build();
+		expected = Employee.builder().person(person).id("23").build();
+		// new scenario with limits that are not exceeded
+		options = CopyOptions.builder().maxBytes(1_000_000).maxObjects(1_000).build();
+		actual = CopyObjectExtensions.copySerializedObject(expected, options);
+		assertEquals(expected, actual);
+		assertArrayEquals(CopyObjectExtensions.toByteArray(expected),
+			CopyObjectExtensions.toByteArray(expected, options));
+		// new scenario with a byte limit that is exceeded
+		final CopyOptions byteLimit = CopyOptions.builder().maxBytes(16).build();
+		exception = assertThrows(CopyLimitExceededException.class,
+			() -> CopyObjectExtensions.copySerializedObject(expected, byteLimit));
+		assertEquals(16, exception.getLimit());
+		// new scenario with an object limit that is exceeded
+		final CopyOptions objectLimit = CopyOptions.builder().maxObjects(2).build();
+		exception = assertThrows(CopyLimitExceededException.class,
+			() -> CopyObjectExtensions.toByteArray(expected, objectLimit));
+		assertEquals(2, exception.getLimit());
+	}
+
+	/**
+	 * Test method for {@link CopyObjectExtensions#estimateDeepSize(Object)}
+	 */
+	@Test
+	public void testEstimateDeepSize()
+	{
+		long personSize;
+		long employeeSize;
+		List<Person> persons;
+
+		assertEquals(0, CopyObjectExtensions.estimateDeepSize(null));
+		assertEquals(416, CopyObjectExtensions.estimateDeepSize(new int[100]));
+		assertEquals(0, CopyObjectExtensions.estimateDeepSize(Gender.MALE));
+
+		final Person person = Person.builder().gender(Gender.FEMALE).name("Anna").married(true)
+			.about("Ha ha ha...").nickname("beast").build();
+		personSize = CopyObjectExtensions.estimateDeepSize(person);
+		assertTrue(0 < personSize);
+		employeeSize = CopyObjectExtensions
+			.estimateDeepSize(Employee.builder().person(person).id("23").build());
+		assertTrue(personSize < employeeSize);
+		// the same person is only counted once
+		persons = new ArrayList<>();
+		for (int i = 0; i < 100; i++)
+		{
+			persons.add(person);
+		}
+		assertTrue(CopyObjectExtensions.estimateDeepSize(persons) < personSize + 1_000);
+	}
+
+	/**
+	 * Test method for {@link CopyObjectExtensions#copyObject(Object, String...)} with arrays,
+	 * collections and maps
+	 *
+	 * @throws IllegalAccessException
+	 *             if the caller does not have access to the property accessor method
+	 */
+	@Test
+	public void testCopyObjectContainers() throws IllegalAccessException
+	{
+		final Person person = Person.builder().gender(Gender.FEMALE).name("Anna").build();
+
+		int[] numbers = { 1, 2, 3 };
+		int[] numbersCopy = CopyObjectExtensions.copyObject(numbers);
+		assertArrayEquals(numbers, numbersCopy);
+		assertNotSame(numbers, numbersCopy);
+
+		Person[] persons = { person, null };
+		Person[] personsCopy = CopyObjectExtensions.copyObject(persons);
+		assertArrayEquals(persons, personsCopy);
+		assertSame(Person[].class, personsCopy.getClass());
+
+		ArrayList<Person> list = new ArrayList<>(List.of(person));
+		ArrayList<Person> listCopy = CopyObjectExtensions.copyObject(list);
+		assertEquals(list, listCopy);
+		assertNotSame(list, listCopy);
+		assertSame(person, listCopy.get(0));
+
+		HashMap<String, Person> map = new HashMap<>();
+		map.put("anna", person);
+		assertEquals(map, CopyObjectExtensions.copyObject(map));
+
+		EnumMap<Gender, String> enumMap = new EnumMap<>(Gender.class);
+		enumMap.put(Gender.MALE, "male");
+		assertEquals(enumMap, CopyObjectExtensions.copyObject(enumMap));
+
+		TreeSet<String> treeSet = new TreeSet<>(Comparator.reverseOrder());
+		treeSet.addAll(List.of("a", "b", "c"));
+		TreeSet<String> treeSetCopy = CopyObjectExtensions.copyObject(treeSet);
+		assertEquals(treeSet, treeSetCopy);
+		assertEquals("c", treeSetCopy.first());
+	}
+
+	/**
+	 * Test method for {@link CopyObjectExtensions#deepCopyObject(Object)}
+	 *
+	 * @throws IllegalAccessException
+	 *             if the caller does not have access to a field
+	 */
+	@Test
+	public void testDeepCopyObject() throws IllegalAccessException
+	{
+		Employee expected;
+		Employee actual;
+		List<Person> persons;
+		List<Person> personsCopy;
+		Map<String, List<Person>> map;
+		Map<String, List<Person>> mapCopy;
+
+		final Person person = Person.builder().gender(Gender.FEMALE).name("Anna").married(true)
+			.about("Ha ha ha...").nickname("beast").build();
+		expected = Employee.builder().person(person).id("23").build();
+		actual = CopyObjectExtensions.deepCopyObject(expected);
+		assertEquals(expected, actual);
+		assertNotSame(expected.getPerson(), actual.getPerson());
+		// new scenario with shared references in collections
+		persons = new ArrayList<>(List.of(person, person));
+		personsCopy = CopyObjectExtensions.deepCopyObject(persons);
+		assertEquals(persons, personsCopy);
+		assertNotSame(person, personsCopy.get(0));
+		assertSame(personsCopy.get(0), personsCopy.get(1));
+		// new scenario with a map of lists
+		map = new LinkedHashMap<>();
+		map.put("persons", persons);
+		map.put("same", persons);
+		mapCopy = CopyObjectExtensions.deepCopyObject(map);
+		assertEquals(map, mapCopy);
+		assertSame(mapCopy.get("persons"), mapCopy.get("same"));
+		assertNotSame(persons, mapCopy.get("persons"));
+		// new scenario with a cycle
+		Node first = new Node();
+		first.next = new Node();
+		first.next.next = first;
+		Node firstCopy = CopyObjectExtensions.deepCopyObject(first);
+		assertNotSame(first, firstCopy);
+		assertSame(firstCopy, firstCopy.next.next);
+		// new scenario with shared references through an immutable list of the JDK
+		Holder holder = new Holder();
+		holder.self = first;
+		holder.list = List.of(first);
+		Holder holderCopy = CopyObjectExtensions.deepCopyObject(holder);
+		assertNotSame(holder.list, holderCopy.list);
+		assertNotSame(first, holderCopy.self);
+		assertSame(holderCopy.self, holderCopy.list.get(0));
+		// new scenario with a cycle back into an immutable list of the JDK
+		Holder cyclic = new Holder();
+		cyclic.list = List.of(cyclic);
+		Holder cyclicCopy = CopyObjectExtensions.deepCopyObject(cyclic);
+		assertNotSame(cyclic, cyclicCopy);
+		assertSame(cyclicCopy, cyclicCopy.list.get(0));
+		// new scenario with a cycle back into an unmodifiable list of the JDK
+		Holder inner = new Holder();
+		List<Object> unmodifiable = Collections.unmodifiableList(new ArrayList<>(List.of(inner)));
+		inner.list = unmodifiable;
+		List<Object> unmodifiableCopy = CopyObjectExtensions.deepCopyObject(unmodifiable);
+		assertNotSame(unmodifiable, unmodifiableCopy);
+		Holder innerCopy = (Holder)unmodifiableCopy.get(0);
+		assertNotSame(inner, innerCopy);
+		assertSame(innerCopy, innerCopy.list.get(0));
+		// new scenario with a hash set of beans that are copied after the set
+		Set<Person> set = new HashSet<>(List.of(person, Person.builder().name("Bob").build()));
+		Set<Person> setCopy = CopyObjectExtensions.deepCopyObject(set);
+		assertEquals(set, setCopy);
+		assertTrue(setCopy.contains(person));
+		// new scenario with a chain that is longer than the stack allows for recursion
+		Node head = new Node();
+		Node tail = head;
+		for (int i = 0; i < 100_000; i++)
+		{
+			tail.next = new Node();
+			tail = tail.next;
+		}
+		Node headCopy = CopyObjectExtensions.deepCopyObject(head);
+		int length = 0;
+		for (Node node = headCopy; node != null; node = node.next)
+		{
+			length++;
+		}
+		assertEquals(100_001, length);
+	}
+
+	/**
+	 * Test method for {@link CopyObjectExtensions#deepCopyObject(Object, CopyOptions)}
+	 *
+	 * @throws IllegalAccessException
+	 *             if the caller does not have access to a field
+	 */
+	@Test
+	public void testDeepCopyObjectWithOptions() throws IllegalAccessException
+	{
+		ValueCanonicalizer canonicalizer;
+		List<String> values;
+		List<String> copy;
+
+		canonicalizer = new ValueCanonicalizer();
+		values = new ArrayList<>(List.of(new String("value"), new String("value")));
+		copy = CopyObjectExtensions.deepCopyObject(values,
+			CopyOptions.builder().canonicalizer(canonicalizer).build());
+		assertEquals(values, copy);
+		assertSame(copy.get(0), copy.get(1));
+		assertEquals(1, canonicalizer.getHits());
+
+		final List<Person> persons = new ArrayList<>();
+		for (int i = 0; i < 10; i++)
+		{
+			persons.add(Person.builder().gender(Gender.MALE).name("name" + i).build());
+		}
+		final CopyOptions objectLimit = CopyOptions.builder().maxObjects(5).build();
+		assertThrows(CopyLimitExceededException.class,
+			() -> CopyObjectExtensions.deepCopyObject(persons, objectLimit));
+		final CopyOptions byteLimit = CopyOptions.builder().maxBytes(64).build();
+		assertThrows(CopyLimitExceededException.class,
+			() -> CopyObjectExtensions.deepCopyObject(persons, byteLimit));
+		// the objects in immutable lists of the JDK are counted in the same budget
+		final List<Holder> holders = new ArrayList<>();
+		for (int i = 0; i < 10; i++)
+		{
+			holders.add(new Holder());
+		}
+		final Holder holder = new Holder();
+		holder.list = List.copyOf(holders.subList(0, 5));
+		holder.other = List.copyOf(holders.subList(5, 10));
+		final CopyOptions holderLimit = CopyOptions.builder().maxObjects(12).build();
+		assertThrows(CopyLimitExceededException.class,
+			() -> CopyObjectExtensions.deepCopyObject(holder, holderLimit));
+	}
+
+	/**
+	 * A node of a linked structure for test copies of cycles
+	 */
+	public static class Node
+	{
+		public Node next;
+	}
+
+	/**
+	 * A holder of immutable lists for test copies of shared references
+	 */
+	public static class Holder implements Serializable
+	{
+		private static final long serialVersionUID = 1L;
+
+		public Object self;
+		public List<Object> list;
+		public List<Object> other;
+	}
+
 	/**
 	 * Test method for {@link CopyObjectExtensions#copyObject(Object, String...)}
 	 *
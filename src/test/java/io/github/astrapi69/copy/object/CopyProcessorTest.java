@@ -0,0 +1,259 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Person;
+import io.github.astrapi69.test.object.enumeration.Gender;
+
+/**
+ * The unit test class for the class {@link CopyProcessor}
+ */
+public class CopyProcessorTest
+{
+
+	/**
+	 * Test the {@link CopyProcessor} with all copy strategies
+	 */
+	@Test
+	public void testCopyWithStrategies()
+		throws InterruptedException, ExecutionException, TimeoutException
+	{
+		for (CopyStrategy strategy : CopyStrategy.values())
+		{
+			List<Person> expected;
+			List<Person> actual;
+
+			expected = new ArrayList<>();
+			for (int i = 0; i < 50; i++)
+			{
+				expected.add(Person.builder().gender(Gender.MALE).name("name" + i).build());
+			}
+			actual = copy(new CopyProcessor<>(strategy), expected);
+			assertEquals(expected, actual);
+			for (int i = 0; i < expected.size(); i++)
+			{
+				assertNotSame(expected.get(i), actual.get(i));
+			}
+		}
+	}
+
+	/**
+	 * Test the {@link CopyProcessor} with a small batch size, a small buffer and an own executor
+	 */
+	@Test
+	public void testCopyWithSmallBatchesAndBuffer()
+		throws InterruptedException, ExecutionException, TimeoutException
+	{
+		List<Person> expected;
+		List<Person> actual;
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try
+		{
+			expected = new ArrayList<>();
+			for (int i = 0; i < 101; i++)
+			{
+				expected.add(Person.builder().gender(Gender.FEMALE).name("name" + i).build());
+			}
+			actual = copy(new CopyProcessor<Person>(CopyStrategy.SHALLOW::copy, executor, 2, 3),
+				expected);
+			assertEquals(expected, actual);
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Test the {@link CopyProcessor} with a single thread executor and a buffer that is smaller
+	 * than a batch, the publication of a batch must not block the delivery of the copies
+	 */
+	@Test
+	public void testCopyWithSingleThreadExecutorAndSmallBuffer()
+		throws InterruptedException, ExecutionException, TimeoutException
+	{
+		List<Person> expected;
+		List<Person> actual;
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try
+		{
+			expected = new ArrayList<>();
+			for (int i = 0; i < 20; i++)
+			{
+				expected.add(Person.builder().gender(Gender.FEMALE).name("name" + i).build());
+			}
+			actual = Collections.synchronizedList(new ArrayList<>());
+			CopyProcessor<Person> processor = new CopyProcessor<>(CopyStrategy.SHALLOW::copy,
+				executor, 2, 8);
+			CompletableFuture<Void> done = processor.consume(actual::add);
+			try (SubmissionPublisher<Person> publisher = new SubmissionPublisher<>())
+			{
+				publisher.subscribe(processor);
+				for (Person person : expected)
+				{
+					assertTrue(0 <= publisher.offer(person, 10, TimeUnit.SECONDS, null));
+				}
+			}
+			done.get(30, TimeUnit.SECONDS);
+			assertEquals(expected, actual);
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Test the {@link CopyProcessor} with an upstream publisher that fails, the items of an
+	 * incomplete batch have to be published before the error
+	 */
+	@Test
+	public void testCopyWithUpstreamError() throws InterruptedException, TimeoutException
+	{
+		List<Person> expected;
+		List<Person> copies = Collections.synchronizedList(new ArrayList<>());
+		CopyProcessor<Person> processor = new CopyProcessor<>(CopyStrategy.SHALLOW::copy,
+			ForkJoinPool.commonPool(), Flow.defaultBufferSize(), CopyProcessor.DEFAULT_BATCH_SIZE,
+			Duration.ofSeconds(1));
+		expected = new ArrayList<>();
+		for (int i = 0; i < 5; i++)
+		{
+			expected.add(Person.builder().gender(Gender.MALE).name("name" + i).build());
+		}
+		CompletableFuture<Void> done = processor.consume(copies::add);
+		processor.onSubscribe(new Flow.Subscription()
+		{
+			@Override
+			public void request(final long n)
+			{
+			}
+
+			@Override
+			public void cancel()
+			{
+			}
+		});
+		expected.forEach(processor::onNext);
+		processor.onError(new IllegalStateException("upstream"));
+		ExecutionException exception = assertThrows(ExecutionException.class,
+			() -> done.get(30, TimeUnit.SECONDS));
+		assertInstanceOf(IllegalStateException.class, exception.getCause());
+		assertEquals(expected, copies);
+	}
+
+	/**
+	 * Test the {@link CopyProcessor} with a failing copy function
+	 */
+	@Test
+	public void testCopyWithFailure()
+	{
+		CopyProcessor<Person> processor = new CopyProcessor<>(person -> {
+			throw new IllegalAccessException(person.getName());
+		});
+		ExecutionException exception = assertThrows(ExecutionException.class,
+			() -> copy(processor, List.of(Person.builder().name("asterix").build())));
+		assertInstanceOf(IllegalAccessException.class, exception.getCause());
+	}
+
+	/**
+	 * Test the {@link CopyProcessor} with an upstream publisher that stays open, the items of an
+	 * incomplete batch have to be published after the maximum batch delay
+	 */
+	@Test
+	public void testCopyWithOpenUpstream() throws InterruptedException
+	{
+		List<Person> expected;
+		List<Person> copies = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch published;
+		CopyProcessor<Person> processor = new CopyProcessor<>(CopyStrategy.SHALLOW);
+		SubmissionPublisher<Person> publisher = new SubmissionPublisher<>();
+		try
+		{
+			expected = new ArrayList<>();
+			for (int i = 0; i < 5; i++)
+			{
+				expected.add(Person.builder().gender(Gender.MALE).name("name" + i).build());
+			}
+			published = new CountDownLatch(expected.size());
+			processor.consume(person -> {
+				copies.add(person);
+				published.countDown();
+			});
+			publisher.subscribe(processor);
+			expected.forEach(publisher::submit);
+			assertTrue(published.await(5, TimeUnit.SECONDS));
+			assertEquals(expected, copies);
+		}
+		finally
+		{
+			publisher.close();
+		}
+	}
+
+	/**
+	 * Test the {@link CopyProcessor} with an invalid maximum batch delay
+	 */
+	@Test
+	public void testInvalidMaxBatchDelay()
+	{
+		assertThrows(IllegalArgumentException.class,
+			() -> new CopyProcessor<Person>(CopyStrategy.SHALLOW::copy, ForkJoinPool.commonPool(),
+				Flow.defaultBufferSize(), CopyProcessor.DEFAULT_BATCH_SIZE, Duration.ZERO));
+	}
+
+	private static List<Person> copy(CopyProcessor<Person> processor, List<Person> items)
+		throws InterruptedException, ExecutionException, TimeoutException
+	{
+		List<Person> copies = Collections.synchronizedList(new ArrayList<>());
+		CompletableFuture<Void> done = processor.consume(copies::add);
+		try (SubmissionPublisher<Person> publisher = new SubmissionPublisher<>())
+		{
+			publisher.subscribe(processor);
+			items.forEach(publisher::submit);
+		}
+		done.get(30, TimeUnit.SECONDS);
+		return copies;
+	}
+
+}
@@ -0,0 +1,131 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.beans.IntrospectionException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Person;
+import io.github.astrapi69.test.object.enumeration.Gender;
+
+/**
+ * The unit test class for the class {@link CopyProfiler}
+ */
+public class CopyProfilerTest
+{
+
+	/**
+	 * Test method for {@link CopyProfiler#profile(Object, int)}
+	 */
+	@Test
+	public void testProfile()
+		throws IllegalAccessException, IntrospectionException, InvocationTargetException
+	{
+		Person person = Person.builder().gender(Gender.FEMALE).name("Anna").nickname("beast")
+			.about("Ha ha ha...").married(true).build();
+		CopyProfile profile = CopyProfiler.profile(person, 100);
+		assertEquals(Person.class, profile.getType());
+		assertEquals(100, profile.getIterations());
+		Map<String, CopyProfile.FieldCost> fieldCosts = profile.getFieldCosts().stream()
+			.collect(Collectors.toMap(CopyProfile.FieldCost::getName, Function.identity()));
+		CopyProfile.FieldCost name = fieldCosts.get("name");
+		assertTrue(name.isAccessible());
+		assertTrue(name.isReadable());
+		assertTrue(name.isWritable());
+		assertTrue(0 <= name.getFieldNanos());
+		assertTrue(0 < name.getSerializedBytes());
+		assertEquals("", name.getNotes());
+		CopyProfile.FieldCost type = fieldCosts.get("class");
+		assertFalse(type.isAccessible());
+		assertTrue(type.isReadable());
+		assertFalse(type.isWritable());
+		assertTrue(type.getNotes().contains("no setter, copyMapsToObjects falls back to jackson"));
+		assertEquals(-1, type.getFieldNanos());
+		assertTrue(profile.toText().contains(Person.class.getName()));
+	}
+
+	/**
+	 * Test method for {@link CopyProfiler#profile(Object, int)} with fields that need fallbacks
+	 */
+	@Test
+	public void testProfileWithFallbacks()
+		throws IllegalAccessException, IntrospectionException, InvocationTargetException
+	{
+		CopyProfile profile = CopyProfiler.profile(new Resource(), 10);
+		List<CopyProfile.FieldCost> fieldCosts = profile.getFieldCosts();
+		for (int i = 1; i < fieldCosts.size(); i++)
+		{
+			assertTrue(fieldCosts.get(i).getTotalNanos() <= fieldCosts.get(i - 1).getTotalNanos());
+		}
+		CopyProfile.FieldCost lock = fieldCosts.stream()
+			.filter(fieldCost -> fieldCost.getName().equals("lock")).findFirst().orElseThrow();
+		assertEquals(-1, lock.getSerializedBytes());
+		assertEquals(-1, lock.getGetterNanos());
+		assertFalse(lock.isReadable());
+		assertFalse(lock.isWritable());
+		assertTrue(0 < lock.getDeepSize());
+		assertTrue(lock.getNotes().contains("not serializable"));
+	}
+
+	/**
+	 * Test method for {@link CopyProfiler#profile(Object, int)} with invalid iterations
+	 */
+	@Test
+	public void testProfileInvalidIterations()
+	{
+		assertThrows(IllegalArgumentException.class,
+			() -> CopyProfiler.profile(new Resource(), 0));
+	}
+
+	/**
+	 * A class with a field without accessor methods that is not serializable
+	 */
+	public static class Resource
+	{
+
+		private final Object lock = new Object();
+
+		private String value = "value";
+
+		public String getValue()
+		{
+			return value;
+		}
+
+		public void setValue(String value)
+		{
+			this.value = value;
+		}
+
+	}
+
+}
@@ -0,0 +1,94 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Employee;
+import io.github.astrapi69.test.object.Person;
+import io.github.astrapi69.test.object.PremiumMember;
+
+/**
+ * The unit test class for the class {@link CopyRegistry}
+ */
+public class CopyRegistryTest
+{
+
+	/**
+	 * Test method for {@link CopyRegistry#warmUp(Class...)}
+	 */
+	@Test
+	public void testWarmUp()
+	{
+		List<WarmUpResult> actual;
+
+		actual = CopyRegistry.warmUp(Person.class, Employee.class);
+		assertEquals(2, actual.size());
+		assertEquals(Person.class, actual.get(0).getType());
+		assertEquals(Employee.class, actual.get(1).getType());
+		for (WarmUpResult result : actual)
+		{
+			assertTrue(result.isSuccessful(), result.toString());
+			assertNotNull(result.getDuration());
+		}
+		assertSame(CopyRegistry.getFieldPlan(Person.class),
+			CopyRegistry.getFieldPlan(Person.class));
+		assertSame(CopyRegistry.getMapToObjectConverter(Person.class),
+			CopyRegistry.getMapToObjectConverter(Person.class));
+	}
+
+	/**
+	 * Test method for {@link CopyRegistry#warmUp(int, Class...)}
+	 */
+	@Test
+	public void testWarmUpWithIterations()
+	{
+		List<WarmUpResult> actual;
+
+		actual = CopyRegistry.warmUp(5, PremiumMember.class);
+		assertEquals(1, actual.size());
+		assertTrue(actual.get(0).isSuccessful(), actual.get(0).toString());
+	}
+
+	/**
+	 * Test method for {@link CopyRegistry#warmUpPackage(String, int)}
+	 */
+	@Test
+	public void testWarmUpPackage() throws IOException
+	{
+		List<Class<?>> actual;
+
+		actual = CopyRegistry.warmUpPackage("io.github.astrapi69.test.object", 0).stream()
+			.map(WarmUpResult::getType).collect(Collectors.toList());
+		assertTrue(actual.contains(Person.class));
+		assertTrue(actual.contains(Employee.class));
+	}
+
+}
@@ -0,0 +1,179 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.invoke.VarHandle;
+import java.util.ConcurrentModificationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.StampedLock;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link SnapshotGuard} and the method
+ * {@link CopyObjectExtensions#copySnapshot(Object, SnapshotGuard)}
+ */
+public class SnapshotGuardTest
+{
+
+	/**
+	 * Test method for {@link SnapshotGuard#versionField(Class, String)}
+	 */
+	@Test
+	public void testCopySnapshotWithVersionField()
+		throws IllegalAccessException, InterruptedException
+	{
+		final Account account = new Account();
+		final SnapshotGuard<Account> guard = SnapshotGuard.versionField(Account.class, "version");
+		final AtomicBoolean running = new AtomicBoolean(true);
+		Thread writer = new Thread(() -> {
+			while (running.get())
+			{
+				account.version++;
+				VarHandle.storeStoreFence();
+				account.checking -= 1;
+				account.savings += 1;
+				account.version++;
+			}
+		});
+		writer.start();
+		try
+		{
+			for (int i = 0; i < 10_000; i++)
+			{
+				Account copy = CopyObjectExtensions.copySnapshot(account, guard);
+				assertNotSame(account, copy);
+				assertNotSame(account.lock, copy.lock);
+				assertEquals(0, copy.version % 2);
+				assertEquals(Account.TOTAL, copy.checking + copy.savings);
+			}
+		}
+		finally
+		{
+			running.set(false);
+			writer.join();
+		}
+	}
+
+	/**
+	 * Test method for {@link SnapshotGuard#stampedLock(java.util.function.Function)}
+	 */
+	@Test
+	public void testCopySnapshotWithStampedLock()
+		throws IllegalAccessException, InterruptedException
+	{
+		final Account account = new Account();
+		final SnapshotGuard<Account> guard = SnapshotGuard.stampedLock(Account::getLock);
+		final AtomicBoolean running = new AtomicBoolean(true);
+		Thread writer = new Thread(() -> {
+			while (running.get())
+			{
+				long stamp = account.lock.writeLock();
+				try
+				{
+					account.checking -= 1;
+					account.savings += 1;
+				}
+				finally
+				{
+					account.lock.unlockWrite(stamp);
+				}
+			}
+		});
+		writer.start();
+		try
+		{
+			for (int i = 0; i < 10_000; i++)
+			{
+				Account copy = CopyObjectExtensions.copySnapshot(account, guard);
+				assertNotSame(account.lock, copy.lock);
+				assertEquals(Account.TOTAL, copy.checking + copy.savings);
+			}
+		}
+		finally
+		{
+			running.set(false);
+			writer.join();
+		}
+	}
+
+	/**
+	 * Test method for {@link CopyObjectExtensions#copySnapshot(Object, SnapshotGuard, int)} with a
+	 * guard that never validates
+	 */
+	@Test
+	public void testCopySnapshotWithConflicts()
+	{
+		final SnapshotGuard<Account> guard = new SnapshotGuard<>()
+		{
+			@Override
+			public long beginRead(Account object)
+			{
+				return 0;
+			}
+
+			@Override
+			public boolean validate(Account object, long stamp)
+			{
+				return false;
+			}
+		};
+		assertThrows(ConcurrentModificationException.class,
+			() -> CopyObjectExtensions.copySnapshot(new Account(), guard, 3));
+	}
+
+	/**
+	 * Test method for {@link SnapshotGuard#versionField(Class, String)} with an invalid field
+	 */
+	@Test
+	public void testVersionFieldInvalid()
+	{
+		assertThrows(IllegalArgumentException.class,
+			() -> SnapshotGuard.versionField(Account.class, "lock"));
+		assertThrows(IllegalArgumentException.class,
+			() -> SnapshotGuard.versionField(Account.class, "unknown"));
+	}
+
+	/**
+	 * An account with the invariant that the sum of checking and savings is always the total
+	 */
+	public static class Account
+	{
+
+		static final long TOTAL = 1_000_000;
+
+		public volatile long version;
+		public volatile long checking = TOTAL;
+		public volatile long savings;
+		public final StampedLock lock = new StampedLock();
+
+		public StampedLock getLock()
+		{
+			return lock;
+		}
+
+	}
+
+}
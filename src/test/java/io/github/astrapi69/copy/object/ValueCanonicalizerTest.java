@@ -0,0 +1,117 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2021 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.copy.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Employee;
+import io.github.astrapi69.test.object.Person;
+import io.github.astrapi69.test.object.enumeration.Gender;
+
+/**
+ * The unit test class for the class {@link ValueCanonicalizer}
+ */
+public class ValueCanonicalizerTest
+{
+
+	/**
+	 * Test method for {@link ValueCanonicalizer#canonicalize(Object)}
+	 */
+	@Test
+	public void testCanonicalize()
+	{
+		ValueCanonicalizer canonicalizer;
+		String first;
+		String second;
+		StringBuilder mutable;
+
+		canonicalizer = new ValueCanonicalizer(2);
+		first = new String("value");
+		second = new String("value");
+		assertNotSame(first, second);
+		assertSame(first, canonicalizer.canonicalize(first));
+		assertSame(first, canonicalizer.canonicalize(second));
+		assertEquals(1, canonicalizer.getHits());
+		assertEquals(1, canonicalizer.getMisses());
+		// mutable values are not canonicalized
+		mutable = new StringBuilder("value");
+		assertSame(mutable, canonicalizer.canonicalize(mutable));
+		// the least recently used value is evicted
+		canonicalizer.canonicalize(BigDecimal.ONE);
+		canonicalizer.canonicalize(42L);
+		assertEquals(2, canonicalizer.size());
+		assertEquals(1, canonicalizer.getEvictions());
+		canonicalizer.clear();
+		assertEquals(0, canonicalizer.size());
+		assertEquals(0, canonicalizer.getHits());
+	}
+
+	/**
+	 * Test method for {@link CopyObjectExtensions#copySerializedObject(java.io.Serializable, CopyOptions)}
+	 */
+	@Test
+	public void testCopySerializedObjectWithCanonicalizer()
+		throws IOException, ClassNotFoundException
+	{
+		ValueCanonicalizer canonicalizer;
+		CopyOptions options;
+		ArrayList<Object> original;
+		ArrayList<Object> firstCopy;
+		ArrayList<Object> secondCopy;
+		Employee employee;
+		Employee employeeCopy;
+
+		canonicalizer = new ValueCanonicalizer();
+		options = CopyOptions.builder().canonicalizer(canonicalizer).build();
+		original = new ArrayList<>();
+		for (int i = 0; i < 10; i++)
+		{
+			original.add(new String("value"));
+			original.add(new BigDecimal("1.50"));
+		}
+		firstCopy = CopyObjectExtensions.copySerializedObject(original, options);
+		secondCopy = CopyObjectExtensions.copySerializedObject(original, options);
+		assertEquals(original, firstCopy);
+		assertEquals(original, secondCopy);
+		for (int i = 0; i < original.size(); i++)
+		{
+			assertSame(firstCopy.get(i % 2), firstCopy.get(i));
+			assertSame(firstCopy.get(i), secondCopy.get(i));
+		}
+		assertTrue(0 < canonicalizer.getHits());
+		assertTrue(0 < canonicalizer.getHitRate());
+
+		employee = Employee.builder()
+			.person(Person.builder().gender(Gender.MALE).name("asterix").build()).id("23").build();
+		employeeCopy = CopyObjectExtensions.copySerializedObject(employee, options);
+		assertEquals(employee, employeeCopy);
+	}
+
+}